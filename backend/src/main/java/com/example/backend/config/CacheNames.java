@@ -0,0 +1,13 @@
+package com.example.backend.config;
+
+/**
+ * Names of the in-process caches configured through {@code spring.cache.*}.
+ */
+public final class CacheNames {
+
+    public static final String USERS_BY_USERNAME = "users-by-username";
+    public static final String USERS_BY_ID = "users-by-id";
+    public static final String USER_DETAILS = "user-details";
+
+    private CacheNames() {}
+}
@@ -1,7 +1,11 @@
 package com.example.backend.config;
 
 import com.example.backend.security.JwtAuthFilter;
+import com.example.backend.security.PasswordHashCalibrator;
 import com.example.backend.security.UserDetailsServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -11,33 +15,72 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+import java.util.Map;
+
 /**
  * Configuration class for Spring Security.
  */
 @Configuration
 public class SecurityConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+
+    /**
+     * Password encoder that hashes new passwords with the configured algorithm and still
+     * verifies hashes from any supported one, including unprefixed BCrypt hashes stored before
+     * encoder IDs were used. Hashes that are older or weaker than the current settings report
+     * {@code upgradeEncoding() == true} and are rehashed on the next successful login.
+     * A BCrypt strength of 0 means "calibrate": pick the highest strength whose hash time on
+     * this machine stays within the target latency, but at least the minimum.
+     */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.algorithm:bcrypt}") String algorithm,
+            @Value("${security.password-hashing.target-latency:250ms}") Duration targetLatency,
+            @Value("${security.password-hashing.bcrypt.strength:0}") int bcryptStrength,
+            @Value("${security.password-hashing.bcrypt.min-strength:10}") int bcryptMinStrength,
+            @Value("${security.password-hashing.pbkdf2.iterations:310000}") int pbkdf2Iterations) {
+        int strength = bcryptStrength > 0
+                ? bcryptStrength
+                : PasswordHashCalibrator.calibrateBCryptStrength(targetLatency, bcryptMinStrength);
+        logger.info("Hashing new passwords with {} (BCrypt strength {})", algorithm, strength);
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", bcrypt,
+                // PBKDF2 hashes do not record their iteration count, so it is configured rather than calibrated
+                "pbkdf2", new Pbkdf2PasswordEncoder("", 16, pbkdf2Iterations,
+                        Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password hashing algorithm: " + algorithm);
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt); // Hashes stored without an {id} prefix
+        return encoder;
     }
 
     @Bean
     @Primary
     public UserDetailsService userDetailsService(UserDetailsServiceImpl userDetailsServiceImpl) {
-        return userDetailsServiceImpl;
+        // Delegate instead of re-exposing the proxy, which would get the cache advice applied twice
+        return userDetailsServiceImpl::loadUserByUsername;
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthFilter jwtAuthFilter) throws Exception {
         http.csrf(csrf -> csrf.disable()) // Disable CSRF for API authentication
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/reset-password", "/api/auth/forgot-password").permitAll()
-                .requestMatchers("/api/users").hasAuthority("ADMIN") // Admins can access all users
-                .requestMatchers("/api/auth/logout", "/api/users/{id}", "/api/bookmarks/**").authenticated()
+                .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/refresh", "/api/auth/reset-password", "/api/auth/forgot-password").permitAll()
+                .requestMatchers("/api/users", "/api/users/import").hasAuthority("ADMIN") // Admins can access all users and import users
+                .requestMatchers("/api/auth/logout", "/api/auth/logout-all", "/api/users/{id}", "/api/bookmarks/**").authenticated()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class) // Add JWT filter before authentication
@@ -52,7 +95,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, BCryptPasswordEncoder passwordEncoder) {
+    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder);
@@ -1,23 +1,33 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.LoginRequest;
-import com.example.backend.model.PasswordResetToken;
+import com.example.backend.exception.ServerBusyException;
 import com.example.backend.model.User;
+import com.example.backend.security.JwtAuthFilter;
 import com.example.backend.security.JwtBlacklistService;
 import com.example.backend.security.JwtUtils;
+import com.example.backend.security.LoginThrottleService;
+import com.example.backend.security.RefreshTokenService;
+import com.example.backend.security.TokenEpochService;
+import com.example.backend.security.VerifiedToken;
+import com.example.backend.security.VerifiedTokenCache;
+import com.example.backend.service.PasswordHashingService;
 import com.example.backend.service.UserService;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 import java.nio.charset.StandardCharsets;
-import java.util.Date;
+import java.time.Duration;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -31,8 +41,10 @@ public class AuthController {
     private static final String MESSAGE = "message";
     private static final String INVALID_CREDENTIALS = "Invalid username or password.";
     private static final String ACCOUNT_DISABLED = "Account is disabled.";
+    private static final String INVALID_REFRESH_TOKEN = "Invalid or expired refresh token.";
+    private static final String TOO_MANY_ATTEMPTS = "Too many failed login attempts. Try again later.";
 
-    private final String BASE_URL = System.getProperty("BASE_URL");
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
 
     @Autowired
     private UserService userService;
@@ -41,11 +53,23 @@ public class AuthController {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private JwtBlacklistService jwtBlacklistService;
 
+    @Autowired
+    private TokenEpochService tokenEpochService;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+
     /**
      * Registers a new user.
      *
@@ -64,13 +88,15 @@ public class AuthController {
     }
 
     /**
-     * Log in a user and return a JWT token.
+     * Log in a user and return a short-lived JWT access token plus a refresh token.
      *
      * @param loginRequest the login request containing username and password
-     * @return a JWT token if authentication is successful
+     * @param request the HTTP request, for the client IP
+     * @return the tokens if authentication is successful, or 429 while the username or IP is locked out
      */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> loginUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<Map<String, String>> loginUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                         HttpServletRequest request) {
 
         // Check payload size
         int payloadSize = loginRequest.toString().getBytes(StandardCharsets.UTF_8).length;
@@ -81,6 +107,16 @@ public class AuthController {
 
         String username = loginRequest.getUsername().toLowerCase().trim();
         String password = loginRequest.getPassword();
+        // The proxy's client address when forwarded headers are enabled (server.forward-headers-strategy)
+        String clientIp = request.getRemoteAddr();
+
+        // Turn locked-out attempts away before any database query or password hash
+        Duration lockedFor = loginThrottleService.checkAllowed(username, clientIp);
+        if (!lockedFor.isZero()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf((lockedFor.toMillis() + 999) / 1000))
+                    .body(Map.of(MESSAGE, TOO_MANY_ATTEMPTS));
+        }
 
         try {
             User user = userService.findByUsername(username);
@@ -91,36 +127,105 @@ public class AuthController {
             }
 
             // Validate password
-            if (passwordEncoder.matches(password, user.getPassword())) {
-                // Get the first role safely (or default to "ROLE_USER")
-                String role = user.getRoles().isEmpty() ? "ROLE_USER" : user.getRoles().iterator().next();
-                
-                String token = jwtUtils.generateToken(username, 86400000, role);
-                return ResponseEntity.ok(Map.of("token", "Bearer " + token));
+            if (passwordHashingService.matches(password, user.getPassword())) {
+                loginThrottleService.recordSuccess(username);
+                upgradePasswordHash(user, password);
+                return ResponseEntity.ok(issueTokens(user));
             } else {
+                loginThrottleService.recordFailure(username, clientIp);
                 return ResponseEntity.status(401).body(Map.of(MESSAGE, INVALID_CREDENTIALS));
             }
+        } catch (ServerBusyException ex) {
+            throw ex; // Shed load with 503 instead of reporting bad credentials
         } catch (RuntimeException ex) {
+            loginThrottleService.recordFailure(username, clientIp);
             return ResponseEntity.status(401).body(Map.of(MESSAGE, INVALID_CREDENTIALS));
         }
     }
 
     /**
-     * Logs out the currently authenticated user by invalidating the JWT token.
+     * Rehashes the password if its hash was made with outdated settings. Best effort: a failure
+     * here must not fail the login, the hash is simply upgraded on a later one.
+     */
+    private void upgradePasswordHash(User user, String password) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            userService.rehashPassword(user, password);
+        } catch (RuntimeException ex) {
+            logger.warn("Could not upgrade the password hash of user {}", user.getId(), ex);
+        }
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * The presented refresh token is consumed, so no password check is needed here.
+     *
+     * @param request The request body containing "refreshToken".
+     * @return The new tokens, or 401 if the refresh token is not valid.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, String>> refreshToken(@RequestBody Map<String, String> request) {
+        String username = refreshTokenService.consume(request.get("refreshToken")).orElse(null);
+        if (username == null) {
+            return ResponseEntity.status(401).body(Map.of(MESSAGE, INVALID_REFRESH_TOKEN));
+        }
+
+        try {
+            User user = userService.findByUsername(username);
+            if (!user.isEnabled()) {
+                return ResponseEntity.status(403).body(Map.of(MESSAGE, ACCOUNT_DISABLED));
+            }
+            return ResponseEntity.ok(issueTokens(user));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.status(401).body(Map.of(MESSAGE, INVALID_REFRESH_TOKEN));
+        }
+    }
+
+    /**
+     * Issues an access token carrying all roles plus the claims needed for claims-only
+     * authentication, and a new refresh token.
+     */
+    private Map<String, String> issueTokens(User user) {
+        String token = jwtUtils.generateToken(user, jwtUtils.getExpirationMs());
+        return Map.of(
+                "token", "Bearer " + token,
+                "refreshToken", refreshTokenService.issue(user));
+    }
+
+    /**
+     * Logs out the currently authenticated user by invalidating the JWT token, and the
+     * refresh token if one is sent in the body.
+     * Reuses the token already verified by {@link JwtAuthFilter} instead of parsing it again.
      *
      * @param request The HTTP request containing the Authorization header.
+     * @param verifiedToken The token verified by the authentication filter, if any.
+     * @param body Optional request body containing "refreshToken".
      * @return A response indicating successful logout.
      */
     @PostMapping("/logout")
-    public ResponseEntity<String> logoutUser(HttpServletRequest request) {
-        String token = extractToken(request);
+    public ResponseEntity<String> logoutUser(HttpServletRequest request,
+            @RequestAttribute(name = JwtAuthFilter.VERIFIED_TOKEN_ATTRIBUTE, required = false) VerifiedToken verifiedToken,
+            @RequestBody(required = false) Map<String, Object> body) {
+        if (verifiedToken == null) {
+            String token = extractToken(request);
+            verifiedToken = jwtUtils.verifyToken(token).orElse(null);
+            if (verifiedToken == null || tokenEpochService.isRevoked(verifiedToken)
+                    || jwtBlacklistService.isTokenBlacklisted(verifiedToken)) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or missing token.");
+            }
+        }
 
-        if (token != null && jwtUtils.validateToken(token)) {
-            Date expirationDate = jwtUtils.extractExpiration(token);
-            long remainingExpiration = expirationDate.getTime() - System.currentTimeMillis();
+        if (verifiedToken != null) {
+            long remainingExpiration = verifiedToken.getRemainingMillis();
 
             if (remainingExpiration > 0) {
-                jwtBlacklistService.blacklistToken(token, remainingExpiration);
+                jwtBlacklistService.blacklistToken(verifiedToken, remainingExpiration);
+                verifiedTokenCache.invalidate(verifiedToken.getToken());
+                if (body != null && body.get("refreshToken") instanceof String refreshToken) {
+                    refreshTokenService.revoke(refreshToken);
+                }
             } else {
                 // System.out.println("❌ Skipping blacklist: Token already expired.");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Token is already expired.");
@@ -132,6 +237,26 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or missing token.");
     }
 
+    /**
+     * Logs the current user out of every session by revoking all tokens issued to them so far.
+     * The token used for this request is blacklisted too, since the epoch only has
+     * whole-second precision.
+     *
+     * @param authentication The authenticated user.
+     * @param verifiedToken The token verified by the authentication filter.
+     * @return A response indicating successful logout.
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<String> logoutAllSessions(Authentication authentication,
+            @RequestAttribute(name = JwtAuthFilter.VERIFIED_TOKEN_ATTRIBUTE, required = false) VerifiedToken verifiedToken) {
+        tokenEpochService.revokeAllTokens(authentication.getName());
+        if (verifiedToken != null) {
+            jwtBlacklistService.blacklistToken(verifiedToken, verifiedToken.getRemainingMillis());
+            verifiedTokenCache.invalidate(verifiedToken.getToken());
+        }
+        return ResponseEntity.ok("User logged out of all sessions.");
+    }
+
     /**
      * Extracts the JWT token from the Authorization header.
      *
@@ -162,15 +287,12 @@ public class AuthController {
             }
         
             // Check for spam (last request time)
-            // if (userService.isSpamRequest(email)) {
-            //     return ResponseEntity.status(429).body(Map.of(MESSAGE, "Too many requests. Try again later."));
-            // }
-
-            String token = userService.generatePasswordResetToken(email);
-            String resetLink = BASE_URL + "/api/auth/reset-password?token=" + token;
+            if (userService.isSpamRequest(email)) {
+                return ResponseEntity.status(429).body(Map.of(MESSAGE, "Too many requests. Try again later."));
+            }
 
-            // Simulate email sending (Replace this with real email service)
-            System.out.println("Password Reset Link: " + resetLink);
+            // The email is queued and sent in the background, with a token issued at that point
+            userService.requestPasswordReset(email);
 
             return ResponseEntity.ok(Map.of(MESSAGE, "Password reset link sent to email."));
         } catch (IllegalArgumentException e) {
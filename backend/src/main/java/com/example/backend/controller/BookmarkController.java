@@ -1,18 +1,27 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.BookmarkPage;
+import com.example.backend.dto.BookmarkView;
 import com.example.backend.model.Bookmark;
 import com.example.backend.model.User;
+import com.example.backend.service.BookmarkExportService;
+import com.example.backend.service.BookmarkImportService;
 import com.example.backend.service.BookmarkService;
 import com.example.backend.service.UserService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 import java.util.Optional;
 
@@ -26,12 +35,21 @@ public class BookmarkController {
 
     private final BookmarkService bookmarkService;
     private final UserService userService;
+    private final BookmarkExportService bookmarkExportService;
+    private final BookmarkImportService bookmarkImportService;
+    private final ObjectMapper objectMapper;
 
     private static final String MESSAGE = "message";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
-    public BookmarkController(BookmarkService bookmarkService, UserService userService) {
+    public BookmarkController(BookmarkService bookmarkService, UserService userService,
+                              BookmarkExportService bookmarkExportService, BookmarkImportService bookmarkImportService,
+                              ObjectMapper objectMapper) {
         this.bookmarkService = bookmarkService;
         this.userService = userService;
+        this.bookmarkExportService = bookmarkExportService;
+        this.bookmarkImportService = bookmarkImportService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -69,24 +87,80 @@ public class BookmarkController {
     
 
     /**
-     * Fetch all bookmarks for the authenticated user.
-     * GET /api/bookmarks
+     * Fetch the authenticated user's bookmarks, one page at a time, oldest first.
+     * GET /api/bookmarks?limit=50&cursor=...
+     * The cursor for the next page is returned in the X-Next-Cursor header, which is absent on the last page.
      */
     @GetMapping
-    public ResponseEntity<?> getUserBookmarks(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<?> getUserBookmarks(@AuthenticationPrincipal UserDetails userDetails,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit) {
         User user = userService.findByUsername(userDetails.getUsername());
 
         if (!user.isEnabled()) {
             return ResponseEntity.status(403).body(Map.of(MESSAGE, "User account is disabled"));
         }
         try {
-            List<Bookmark> bookmarks = bookmarkService.getUserBookmarks(user);
-            return ResponseEntity.ok(bookmarks);
+            BookmarkPage page = bookmarkService.getUserBookmarks(user, cursor, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.next() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.next());
+            }
+            return response.body(page.bookmarks());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(400).body(Map.of(MESSAGE, ex.getMessage()));
         } catch (RuntimeException ex) {
             return ResponseEntity.status(404).body(Map.of(MESSAGE, ex.getMessage()));
         }
     }
 
+    /**
+     * Import bookmarks for the authenticated user from NDJSON or a browser bookmarks export.
+     * POST /api/bookmarks/import
+     * Entries the user has already bookmarked are skipped; every entry gets a result in the response.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", MediaType.TEXT_HTML_VALUE})
+    public ResponseEntity<?> importBookmarks(@AuthenticationPrincipal UserDetails userDetails,
+                                             InputStream body,
+                                             @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) {
+        User user = userService.findByUsername(userDetails.getUsername());
+
+        if (!user.isEnabled()) {
+            return ResponseEntity.status(403).body(Map.of(MESSAGE, "User account is disabled"));
+        }
+
+        BookmarkImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.TEXT_HTML)
+                ? BookmarkImportService.Format.HTML
+                : BookmarkImportService.Format.NDJSON;
+        try {
+            return ResponseEntity.ok(bookmarkImportService.importBookmarks(user, body, format));
+        } catch (IOException e) {
+            return ResponseEntity.status(400).body(Map.of(MESSAGE, "Could not read the upload."));
+        }
+    }
+
+    /**
+     * Download all of the authenticated user's bookmarks as a gzipped NDJSON file.
+     * GET /api/bookmarks/export
+     * The rows are streamed to the client as they are read, so the export works for any number of bookmarks.
+     */
+    @GetMapping("/export")
+    public void exportBookmarks(@AuthenticationPrincipal UserDetails userDetails,
+                                HttpServletResponse response) throws IOException {
+        User user = userService.findByUsername(userDetails.getUsername());
+
+        if (!user.isEnabled()) {
+            response.setStatus(403);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Map.of(MESSAGE, "User account is disabled"));
+            return;
+        }
+
+        response.setContentType("application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookmarks.ndjson.gz\"");
+        bookmarkExportService.export(user, response.getOutputStream());
+    }
+
     /**
      * Delete a bookmark by ID.
      */
@@ -126,7 +200,7 @@ public class BookmarkController {
         }
 
         try {
-            Optional<Bookmark> bookmarkOpt = bookmarkService.getBookmarkByIdAndUser(id, user);
+            Optional<BookmarkView> bookmarkOpt = bookmarkService.getBookmarkByIdAndUser(id, user);
             if (bookmarkOpt.isEmpty()) {
                 return ResponseEntity.status(404).body(Map.of(MESSAGE, "Bookmark not found"));
             }
@@ -1,17 +1,23 @@
 package com.example.backend.controller;
 
+import com.example.backend.exception.ServerBusyException;
 import com.example.backend.model.User;
+import com.example.backend.service.UserImportService;
 import com.example.backend.service.UserService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.security.core.Authentication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -26,14 +32,17 @@ import java.util.Set;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
 
     /**
-     * Constructor-based dependency injection for UserService.
+     * Constructor-based dependency injection for UserService and UserImportService.
      *
      * @param userService the user service to manage user operations.
+     * @param userImportService the service for bulk user imports.
      */
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserImportService userImportService) {
         this.userService = userService;
+        this.userImportService = userImportService;
     }
 
     /**
@@ -115,6 +124,31 @@ public class UserController {
         }
     }
 
+    /**
+     * POST /api/users/import - Create users in bulk from a CSV or NDJSON upload (Admin-only).
+     *
+     * CSV uploads start with a header row naming the username, email and password columns;
+     * NDJSON uploads have one object per line with those fields. Each row is validated like a
+     * registration and either created or reported with the reason it was rejected.
+     *
+     * @param body the upload, read as a stream.
+     * @param contentType "text/csv" or "application/x-ndjson".
+     * @return a report with the outcome of every row.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importUsers(InputStream body, @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) {
+        UserImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        try {
+            return ResponseEntity.ok(userImportService.importUsers(body, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(Map.of("message", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(400).body(Map.of("message", "Could not read the upload."));
+        }
+    }
+
     /**
      * PUT /api/users/{id} - Update a specific user's profile.
      * 
@@ -151,6 +185,8 @@ public class UserController {
             return ResponseEntity.ok(Map.of("message", "User profile updated successfully", "user", user));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(400).body(Map.of("message", e.getMessage())); // Return 400 for duplicate email/username
+        } catch (ServerBusyException e) {
+            throw e; // Password hashing pool is full; answered with 503
         } catch (RuntimeException e) {
             return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
         }
@@ -185,6 +221,8 @@ public class UserController {
             return ResponseEntity.ok("{\"message\": \"User deleted successfully.\"}");
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(400).body(Map.of("message", e.getMessage())); // Return 400 for duplicate email/username
+        } catch (ServerBusyException e) {
+            throw e; // Password hashing pool is full; answered with 503
         } catch (RuntimeException e) {
             return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
         }
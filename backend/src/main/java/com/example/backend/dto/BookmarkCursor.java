@@ -0,0 +1,43 @@
+package com.example.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a user's bookmark list, handed to clients as an opaque string.
+ *
+ * @param createdAt When the last bookmark on the previous page was created.
+ * @param id        The ID of that bookmark, to break ties on {@code createdAt}.
+ */
+public record BookmarkCursor(LocalDateTime createdAt, long id) {
+
+    /**
+     * Encodes the cursor for a response.
+     *
+     * @return The opaque cursor.
+     */
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor sent back by a client.
+     *
+     * @param cursor The opaque cursor.
+     * @return The decoded position.
+     * @throws IllegalArgumentException if the cursor was not issued by {@link #encode()}.
+     */
+    public static BookmarkCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new BookmarkCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * The result of a bulk bookmark import, with one entry per bookmark in file order.
+ *
+ * @param created The number of bookmarks created.
+ * @param skipped The number of entries that were already bookmarked or repeated in the file.
+ * @param failed  The number of entries that were rejected.
+ * @param results The outcome of every entry.
+ */
+public record BookmarkImportReport(int created, int skipped, int failed, List<BookmarkImportResult> results) {
+}
@@ -0,0 +1,27 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The outcome of importing one entry of a bulk bookmark import.
+ *
+ * @param line    The line of the entry in the uploaded file.
+ * @param title   The title of the entry, if it could be read.
+ * @param status  "created", "skipped" (already bookmarked) or "failed".
+ * @param message Why the entry was skipped or failed; absent for created entries.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BookmarkImportResult(long line, String title, String status, String message) {
+
+    public static BookmarkImportResult created(long line, String title) {
+        return new BookmarkImportResult(line, title, "created", null);
+    }
+
+    public static BookmarkImportResult skipped(long line, String title, String message) {
+        return new BookmarkImportResult(line, title, "skipped", message);
+    }
+
+    public static BookmarkImportResult failed(long line, String title, String message) {
+        return new BookmarkImportResult(line, title, "failed", message);
+    }
+}
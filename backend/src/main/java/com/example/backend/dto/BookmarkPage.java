@@ -0,0 +1,12 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * One page of a user's bookmarks, oldest first.
+ *
+ * @param bookmarks The bookmarks on this page.
+ * @param next      The cursor for the following page, or {@code null} on the last page.
+ */
+public record BookmarkPage(List<BookmarkView> bookmarks, String next) {
+}
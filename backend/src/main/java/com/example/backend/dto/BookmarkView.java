@@ -0,0 +1,21 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a bookmark, selected straight from the bookmarks table without loading
+ * the entity or its owner.
+ *
+ * @param id        The bookmark ID.
+ * @param title     The title of the bookmarked content.
+ * @param url       The URL of the bookmarked content.
+ * @param createdAt When the bookmark was saved.
+ */
+public record BookmarkView(
+        Long id,
+        String title,
+        String url,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime createdAt) {
+}
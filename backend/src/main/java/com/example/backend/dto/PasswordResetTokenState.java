@@ -0,0 +1,13 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * What validating a password reset token needs to know, read without loading the user.
+ *
+ * @param id         The token row ID.
+ * @param expiryDate When the token expires.
+ * @param userId     The ID of the user the token was issued to.
+ */
+public record PasswordResetTokenState(Long id, LocalDateTime expiryDate, Long userId) {
+}
@@ -0,0 +1,13 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * The result of a bulk user import, with one entry per row in file order.
+ *
+ * @param created The number of users created.
+ * @param failed  The number of rows that were rejected.
+ * @param results The outcome of every row.
+ */
+public record UserImportReport(int created, int failed, List<UserImportResult> results) {
+}
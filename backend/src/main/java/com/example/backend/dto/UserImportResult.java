@@ -0,0 +1,23 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The outcome of importing one row of a bulk user import.
+ *
+ * @param line     The line of the row in the uploaded file.
+ * @param username The username of the row, if it could be read.
+ * @param status   "created" or "failed".
+ * @param message  Why the row failed; absent for created rows.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserImportResult(long line, String username, String status, String message) {
+
+    public static UserImportResult created(long line, String username) {
+        return new UserImportResult(line, username, "created", null);
+    }
+
+    public static UserImportResult failed(long line, String username, String message) {
+        return new UserImportResult(line, username, "failed", message);
+    }
+}
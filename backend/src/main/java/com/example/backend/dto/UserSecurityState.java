@@ -0,0 +1,11 @@
+package com.example.backend.dto;
+
+/**
+ * The parts of a user that decide whether claims in an issued token are still current.
+ *
+ * @param id              The user ID.
+ * @param securityVersion The current security version of the user.
+ * @param enabled         Whether the account is enabled.
+ */
+public record UserSecurityState(Long id, int securityVersion, boolean enabled) {
+}
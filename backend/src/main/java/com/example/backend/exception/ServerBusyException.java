@@ -0,0 +1,19 @@
+package com.example.backend.exception;
+
+/**
+ * Thrown when work is shed because a bounded resource (e.g. the password hashing pool) is full.
+ * Mapped to 503 Service Unavailable with a Retry-After header by {@link GlobalExceptionHandler}.
+ */
+public class ServerBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServerBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -4,8 +4,10 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import com.example.backend.security.TokenDigests;
 import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 /**
@@ -13,12 +15,15 @@ import com.fasterxml.jackson.annotation.JsonInclude;
  */
 @Data
 @Entity
-@Table(name = "bookmarks")
+@Table(name = "bookmarks",
+        indexes = @Index(name = "idx_bookmarks_user_created", columnList = "user_id, createdAt, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_bookmarks_content_hash", columnNames = "content_hash"))
 @JsonInclude(JsonInclude.Include.NON_NULL) // Prevents null values in JSON response
 public class Bookmark {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookmarks_seq")
+    @SequenceGenerator(name = "bookmarks_seq", sequenceName = "bookmarks_seq", allocationSize = 50) // Batchable, one round trip per 50 IDs
     private Long id;
 
     @NotBlank(message = "Title is required.")
@@ -33,6 +38,11 @@ public class Bookmark {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    @JsonIgnore
+    @Column(name = "content_hash", length = 43)
+    private String contentHash; // Digest of the owner, URL and title; its unique constraint rejects duplicates
+
+    @JsonIgnore // Always the caller; serializing it would load the lazy proxy and expose the account
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -45,4 +55,25 @@ public class Bookmark {
         this.user = user;
         this.createdAt = LocalDateTime.now();
     }
-}
\ No newline at end of file
+
+    /**
+     * Computes the value of the content hash column for a bookmark. The URL and title are
+     * trimmed and runs of whitespace in the title are collapsed before hashing, so bookmarks
+     * that differ only in spacing count as duplicates.
+     *
+     * @param userId The ID of the owner.
+     * @param title The title of the bookmark.
+     * @param url The URL of the bookmark.
+     * @return The unpadded Base64URL SHA-256 digest (43 characters).
+     */
+    public static String contentHashOf(Long userId, String title, String url) {
+        String normalizedTitle = title.trim().replaceAll("\\s+", " ");
+        return TokenDigests.sha256(userId + "\n" + url.trim() + "\n" + normalizedTitle);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateContentHash() {
+        this.contentHash = contentHashOf(user.getId(), title, url);
+    }
+}
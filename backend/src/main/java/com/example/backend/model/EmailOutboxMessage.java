@@ -0,0 +1,83 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+
+/**
+ * An email waiting to be sent. Written in the same transaction as the change that triggers
+ * it and deleted once the SMTP server has accepted it. Never holds secrets: a password reset
+ * email is queued with a placeholder, and its link is only issued when it is sent.
+ */
+@Data
+@Entity
+@Table(name = "email_outbox", indexes = @Index(name = "idx_email_outbox_due", columnList = "status, nextAttemptAt"))
+public class EmailOutboxMessage {
+
+    public enum Status {
+        PENDING,
+        FAILED // Gave up after the maximum number of attempts
+    }
+
+    public enum Type {
+        TEXT, // The body is sent as is
+        PASSWORD_RESET // RESET_LINK in the body is replaced by a newly issued reset link when sending
+    }
+
+    /**
+     * Placeholder for the reset link in the body of a {@link Type#PASSWORD_RESET} email.
+     */
+    public static final String RESET_LINK = "{reset-link}";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, length = 4000)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    // Null for rows queued before types existed, which are plain text
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private Type type = Type.TEXT;
+
+    private int attempts;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // Digest of the reset token issued for the last attempt, revoked before the next one issues another
+    @Column(length = 64)
+    private String resetTokenHash;
+
+    public EmailOutboxMessage() {}
+
+    public EmailOutboxMessage(String recipient, String subject, String body) {
+        this(recipient, subject, body, Type.TEXT);
+    }
+
+    public EmailOutboxMessage(String recipient, String subject, String body, Type type) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.type = type;
+        this.createdAt = Instant.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+}
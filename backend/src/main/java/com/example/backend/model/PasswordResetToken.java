@@ -3,16 +3,26 @@ package com.example.backend.model;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+/**
+ * A single-use password reset token. Only the SHA-256 digest of the token is stored, so the
+ * table is useless to anyone who can read it.
+ */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_password_reset_token_hash", columnList = "tokenHash", unique = true),
+        @Index(name = "idx_password_reset_token_expiry", columnList = "expiryDate")
+})
 public class PasswordResetToken {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "password_reset_token_seq")
+    @SequenceGenerator(name = "password_reset_token_seq", sequenceName = "password_reset_token_seq", allocationSize = 50) // Batchable, one round trip per 50 IDs
     private Long id;
 
-    private String token;
+    @Column(length = 64) // Unique through idx_password_reset_token_hash
+    private String tokenHash;
 
-    @OneToOne
+    @ManyToOne
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private User user;
 
@@ -20,12 +30,16 @@ public class PasswordResetToken {
 
     public PasswordResetToken() {}
 
-    public PasswordResetToken(String token, User user, LocalDateTime expiryDate) {
-        this.token = token;
+    public PasswordResetToken(String tokenHash, User user, LocalDateTime expiryDate) {
+        this.tokenHash = tokenHash;
         this.user = user;
         this.expiryDate = expiryDate;
     }
 
+    public String getTokenHash() {
+        return this.tokenHash;
+    }
+
     public LocalDateTime getExpiryDate() {
         return this.expiryDate;
     }
@@ -36,4 +50,3 @@ public class PasswordResetToken {
 
     // Getters and Setters
 }
-
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Email;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 import java.util.HashSet;
@@ -14,11 +15,15 @@ import java.util.Set;
  */
 @Data
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_users_username", columnNames = "username"),
+        @UniqueConstraint(name = "uk_users_email", columnNames = "email")
+})
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50) // Batchable, one round trip per 50 IDs
     private Long id;
 
     @NotBlank(message = "Username is required.")
@@ -41,6 +46,10 @@ public class User {
     @Column(nullable = false)
     private boolean enabled = true; // Default to true
 
+    @JsonIgnore
+    @Column(nullable = false)
+    private int securityVersion = 0; // Bumped whenever issued tokens must stop carrying stale claims
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -1,9 +1,15 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.BookmarkView;
 import com.example.backend.model.Bookmark;
 import com.example.backend.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,9 +19,42 @@ import java.util.Optional;
 @Repository
 public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
 
-    List<Bookmark> findByUser(User user); // Fetch all bookmarks for a user
+    /**
+     * Fetches the first page of a user's bookmarks as views. Served by idx_bookmarks_user_created.
+     */
+    @Query("""
+            select new com.example.backend.dto.BookmarkView(b.id, b.title, b.url, b.createdAt)
+            from Bookmark b
+            where b.user = :user
+            order by b.createdAt, b.id
+            """)
+    List<BookmarkView> findFirstPage(@Param("user") User user, Limit limit);
+
+    /**
+     * Fetches the page after a cursor as views. Seeks straight to the cursor in idx_bookmarks_user_created,
+     * so a deep page costs the same as the first one.
+     */
+    @Query("""
+            select new com.example.backend.dto.BookmarkView(b.id, b.title, b.url, b.createdAt)
+            from Bookmark b
+            where b.user = :user
+              and (b.createdAt > :createdAt or (b.createdAt = :createdAt and b.id > :id))
+            order by b.createdAt, b.id
+            """)
+    List<BookmarkView> findPageAfter(@Param("user") User user, @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id, Limit limit);
 
     Optional<Bookmark> findByIdAndUser(Long id, User user); // Fetch a bookmark by ID and user
 
-    boolean existsByUserAndTitleAndUrl(User user, String title, String url); // Prevent Duplicates
+    @Query("""
+            select new com.example.backend.dto.BookmarkView(b.id, b.title, b.url, b.createdAt)
+            from Bookmark b
+            where b.id = :id and b.user = :user
+            """)
+    Optional<BookmarkView> findViewByIdAndUser(@Param("id") Long id, @Param("user") User user); // Read path for GET /{id}
+
+    boolean existsByContentHash(String contentHash); // Tell a duplicate from other rejected inserts
+
+    @Query("select b.id from Bookmark b where b.contentHash is null and b.id > :after order by b.id")
+    List<Long> findUnhashedIds(@Param("after") Long after, Pageable pageable); // Rows saved before content hashes
 }
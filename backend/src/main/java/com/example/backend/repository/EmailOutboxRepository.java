@@ -0,0 +1,44 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.EmailOutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for the email outbox.
+ */
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Lock the oldest pending messages that are due, skipping rows another node has locked.
+     *
+     * @param now the current time
+     * @param pageable the batch size
+     * @return the locked messages, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2")) // SKIP LOCKED
+    @Query("select m from EmailOutboxMessage m where m.status = com.example.backend.model.EmailOutboxMessage.Status.PENDING "
+            + "and m.nextAttemptAt <= :now order by m.id")
+    List<EmailOutboxMessage> lockDue(Instant now, Pageable pageable);
+
+    /**
+     * Delete messages that were given up on and queued before the given time.
+     *
+     * @param before the cut-off time
+     * @return the number of messages deleted
+     */
+    @Modifying
+    @Query("delete from EmailOutboxMessage m where m.status = com.example.backend.model.EmailOutboxMessage.Status.FAILED "
+            + "and m.createdAt < :before")
+    int deleteFailedBefore(Instant before);
+}
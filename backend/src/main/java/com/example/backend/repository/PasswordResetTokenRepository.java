@@ -1,9 +1,57 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.PasswordResetTokenState;
 import com.example.backend.model.PasswordResetToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
-    Optional<PasswordResetToken> findByToken(String token);
+
+    /**
+     * Look up a token by its digest through the unique index.
+     *
+     * @param tokenHash the SHA-256 digest of the token
+     * @return the token's state if it exists
+     */
+    @Query("select new com.example.backend.dto.PasswordResetTokenState(t.id, t.expiryDate, t.user.id) "
+            + "from PasswordResetToken t where t.tokenHash = :tokenHash")
+    Optional<PasswordResetTokenState> findStateByTokenHash(String tokenHash);
+
+    /**
+     * Delete a token if it has not expired. Of several concurrent callers only one deletes it.
+     *
+     * @param id the token row ID
+     * @param now the current time
+     * @return 1 if the token was consumed, 0 if it was already used or has expired
+     */
+    @Modifying
+    @Query("delete from PasswordResetToken t where t.id = :id and t.expiryDate > :now")
+    int consume(Long id, LocalDateTime now);
+
+    /**
+     * Delete a token by its digest.
+     *
+     * @param tokenHash the SHA-256 digest of the token
+     * @return 1 if the token was deleted, 0 if it no longer exists
+     */
+    @Modifying
+    @Query("delete from PasswordResetToken t where t.tokenHash = :tokenHash")
+    int deleteByTokenHash(String tokenHash);
+
+    /**
+     * Find the IDs of expired tokens, earliest expiry first. Ordered by the indexed expiry date
+     * so each chunk is read off the index instead of sorting every expired row.
+     *
+     * @param now the current time
+     * @param pageable the chunk size
+     * @return up to one chunk of IDs
+     */
+    @Query("select t.id from PasswordResetToken t where t.expiryDate <= :now order by t.expiryDate")
+    List<Long> findExpiredIds(LocalDateTime now, Pageable pageable);
 }
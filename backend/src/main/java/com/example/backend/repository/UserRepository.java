@@ -1,8 +1,12 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.UserSecurityState;
 import com.example.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -25,4 +29,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return an Optional containing the user if found
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Find the usernames of users holding the given username or email.
+     *
+     * @param username the normalized username
+     * @param email the normalized email
+     * @return the usernames of the matching users (at most two)
+     */
+    @Query("select u.username from User u where u.username = :username or u.email = :email")
+    List<String> findUsernamesByUsernameOrEmail(String username, String email);
+
+    /**
+     * Fetch only the security version and enabled flag of a user, without loading roles.
+     *
+     * @param id the user ID
+     * @return an Optional containing the security state if the user exists
+     */
+    @Query("select new com.example.backend.dto.UserSecurityState(u.id, u.securityVersion, u.enabled) from User u where u.id = :id")
+    Optional<UserSecurityState> findSecurityStateById(Long id);
+
+    /**
+     * Replace a user's password hash, but only if it is still the given one.
+     *
+     * @param id the user ID
+     * @param currentPassword the hash the caller last saw
+     * @param newPassword the new hash
+     * @return the number of rows updated (0 if the password changed in the meantime)
+     */
+    @Modifying
+    @Query("update User u set u.password = :newPassword where u.id = :id and u.password = :currentPassword")
+    int replacePassword(Long id, String currentPassword, String newPassword);
 }
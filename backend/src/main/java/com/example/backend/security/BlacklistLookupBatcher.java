@@ -0,0 +1,132 @@
+package com.example.backend.security;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects blacklist key lookups for a short window and sends them to Redis as one pipeline.
+ * Under load this turns many concurrent round trips into one; when idle, a lookup waits at
+ * most one window. Used by {@link JwtBlacklistService} when batching is enabled.
+ */
+class BlacklistLookupBatcher {
+
+    private record Lookup(String key, CompletableFuture<Boolean> result) {}
+
+    private final StringRedisTemplate redisTemplate;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<Lookup> queue = new LinkedBlockingQueue<>();
+    private final DistributionSummary batchSizes;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    BlacklistLookupBatcher(StringRedisTemplate redisTemplate, Duration window, int maxBatchSize,
+                           MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("jwt.blacklist.batch.size")
+                .description("Blacklist lookups sent to Redis in one pipeline")
+                .register(meterRegistry);
+
+        this.worker = new Thread(this::run, "jwt-blacklist-batcher");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Queues a lookup for the next batch.
+     *
+     * @param key The Redis key to check.
+     * @return A future completed with whether the key exists.
+     */
+    CompletableFuture<Boolean> exists(String key) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        if (!running) {
+            result.completeExceptionally(new IllegalStateException("Blacklist lookup batcher is stopped."));
+            return result;
+        }
+        queue.add(new Lookup(key, result));
+        // Shutdown may have drained the queue between the check above and the add
+        if (!running) {
+            failQueued();
+        }
+        return result;
+    }
+
+    /**
+     * Stops the worker and fails any lookups still queued.
+     */
+    void shutdown() {
+        running = false;
+        worker.interrupt();
+        failQueued();
+    }
+
+    private void failQueued() {
+        IllegalStateException stopped = new IllegalStateException("Blacklist lookup batcher is stopped.");
+        Lookup lookup;
+        while ((lookup = queue.poll()) != null) {
+            lookup.result().completeExceptionally(stopped);
+        }
+    }
+
+    private void run() {
+        List<Lookup> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                Lookup first = queue.poll(100, TimeUnit.MILLISECONDS); // Wake up now and then to notice shutdown
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Lookup next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(lookup -> lookup.result().completeExceptionally(e));
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Lookup> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Lookup lookup : batch) {
+                    connection.keyCommands().exists(lookup.key().getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(Boolean.TRUE.equals(results.get(i)));
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(lookup -> lookup.result().completeExceptionally(e));
+        }
+    }
+}
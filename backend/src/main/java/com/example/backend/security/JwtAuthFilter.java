@@ -1,10 +1,12 @@
 package com.example.backend.security;
 
+import com.example.backend.dto.UserSecurityState;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -15,9 +17,6 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-
 import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,15 +27,29 @@ import java.util.stream.Collectors;
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    /**
+     * Request attribute holding the {@link VerifiedToken} of an authenticated request.
+     */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = "com.example.backend.security.JwtAuthFilter.VERIFIED_TOKEN";
+
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
     private final JwtBlacklistService jwtBlacklistService;
+    private final UserSecurityStateCache userSecurityStateCache;
+    private final TokenEpochService tokenEpochService;
+
+    // "claims" builds the principal from token claims; "user-lookup" loads the user on every request
+    @Value("${jwt.authentication-mode:user-lookup}")
+    private String authenticationMode;
 
     @Autowired
-    public JwtAuthFilter(JwtUtils jwtUtils, @Lazy UserDetailsService userDetailsService, @Lazy JwtBlacklistService jwtBlacklistService) {
+    public JwtAuthFilter(JwtUtils jwtUtils, @Lazy UserDetailsService userDetailsService, @Lazy JwtBlacklistService jwtBlacklistService,
+                         @Lazy UserSecurityStateCache userSecurityStateCache, @Lazy TokenEpochService tokenEpochService) {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
         this.jwtBlacklistService = jwtBlacklistService;
+        this.userSecurityStateCache = userSecurityStateCache;
+        this.tokenEpochService = tokenEpochService;
     }
 
     @Override
@@ -47,6 +60,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         // Skip JWT validation for login and register endpoints
         if (requestURI.startsWith("/api/auth/login") || requestURI.startsWith("/api/auth/register") ||
+            requestURI.startsWith("/api/auth/refresh") ||
             requestURI.startsWith("/api/auth/reset-password") || requestURI.startsWith("/api/auth/forgot-password")) {
             chain.doFilter(request, response);
             return;
@@ -61,53 +75,103 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
     
-        if (!jwtUtils.validateToken(token)) {
+        // Signature, expiry and claim decoding happen exactly once per request
+        VerifiedToken verifiedToken = jwtUtils.verifyToken(token).orElse(null);
+
+        // Revoked tokens are reported the same way as invalid ones; the per-user epoch is checked
+        // first because it is answered locally
+        if (verifiedToken == null || tokenEpochService.isRevoked(verifiedToken)
+                || jwtBlacklistService.isTokenBlacklisted(verifiedToken)) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
             response.getWriter().write("{\"message\": \"Invalid token.\"}");
             return;
         }
     
-        if (jwtBlacklistService.isTokenBlacklisted(token)) {
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType("application/json");
-            response.getWriter().write("{\"message\": \"Token is already revoked.\"}");
-            return;
+        // Convert roles from the JWT "authorities" claim to Spring Security authorities
+        List<SimpleGrantedAuthority> authorities = verifiedToken.getAuthorities().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        UserDetails userDetails;
+        if (isClaimsOnly() && verifiedToken.hasIdentityClaims()) {
+            UserSecurityState state = currentSecurityState(verifiedToken);
+
+            if (state == null) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.setContentType("application/json");
+                response.getWriter().write("{\"message\": \"User no longer exists.\"}");
+                return;
+            }
+
+            // Password or role changes bump the version, so older claims can no longer be trusted
+            if (state.securityVersion() != verifiedToken.getSecurityVersion()) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.setContentType("application/json");
+                response.getWriter().write("{\"message\": \"Invalid token.\"}");
+                return;
+            }
+
+            // The enabled claim is only a snapshot; a user disabled since issuance loses access now
+            if (!state.enabled()) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.setContentType("application/json");
+                response.getWriter().write("{\"message\": \"Account is disabled.\"}");
+                return;
+            }
+
+            userDetails = new UserDetailsImpl(verifiedToken.getUserId(), verifiedToken.getSubject(), null,
+                    state.enabled(), authorities);
+        } else {
+            userDetails = userDetailsService.loadUserByUsername(verifiedToken.getSubject());
         }
     
-        String username = jwtUtils.extractUsername(token);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-    
-        // Use jwtUtils.getSecret() instead of accessing 'secret' directly
-        Claims claims = Jwts.parser()
-                .setSigningKey(jwtUtils.getSecret())  // ✅ Retrieve secret from JwtUtils
-                .parseClaimsJws(token)
-                .getBody();
-    
-        List<String> roles = claims.get("authorities", List.class);  // Read role from JWT
-    
         if (userDetails == null) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
             response.getWriter().write("{\"message\": \"User no longer exists.\"}");
             return;
         }
-    
-        // Convert roles to Spring Security authorities
-        List<SimpleGrantedAuthority> authorities = roles.stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+
+        // Checked on every request; the cached details follow the account once evicted or expired
+        if (!userDetails.isEnabled()) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"message\": \"Account is disabled.\"}");
+            return;
+        }
     
         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                 userDetails, null, authorities);
         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
     
         SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        // Expose the verified token to controllers so they never re-parse it
+        request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verifiedToken);
     
         chain.doFilter(request, response);
     }
     
 
+    private boolean isClaimsOnly() {
+        return "claims".equalsIgnoreCase(authenticationMode);
+    }
+
+    /**
+     * Looks up the cached security state of the token's user. A token newer than the cached
+     * state means another node changed the user since it was cached, so it is reloaded once.
+     */
+    private UserSecurityState currentSecurityState(VerifiedToken verifiedToken) {
+        UserSecurityState state = userSecurityStateCache.get(verifiedToken.getUserId()).orElse(null);
+
+        if (state != null && state.securityVersion() < verifiedToken.getSecurityVersion()) {
+            userSecurityStateCache.evict(verifiedToken.getUserId());
+            state = userSecurityStateCache.get(verifiedToken.getUserId()).orElse(null);
+        }
+        return state;
+    }
+
     private String extractToken(HttpServletRequest request) {
         String authHeader = request.getHeader("Authorization");
         return (authHeader != null && authHeader.startsWith("Bearer ")) ? authHeader.substring(7) : null;
@@ -1,19 +1,115 @@
 package com.example.backend.security;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Service for managing blacklisted JWT tokens using Redis.
+ * Entries are keyed by the token's ID ({@code jwt:bl:<jti>}), or by its SHA-256 digest
+ * ({@code jwt:bl:d:<digest>}) for tokens issued before IDs existed, instead of by the token itself.
+ * A local Bloom filter of revoked token IDs sits in front of Redis so that the common case
+ * (a token that was never revoked) is answered without a network round trip. The filter is
+ * kept in sync across nodes over Redis pub/sub and rebuilt from Redis on startup and periodically.
+ * Concurrent lookups of the same token that do reach Redis share one call, and can optionally be
+ * batched into a single pipeline.
  */
 @Service
 public class JwtBlacklistService {
 
+    /**
+     * Pub/sub channel on which every node announces the tokens it revokes.
+     */
+    public static final String REVOCATION_CHANNEL = "jwt:revocations";
+
+    private static final String KEY_PREFIX = "jwt:bl:";
+    private static final String DIGEST_ID_PREFIX = "d:";
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtBlacklistService.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Counter filteredLookups;
+    private final Counter redisLookups;
+    private final SingleFlight<String, Boolean> redisChecks;
+    private final BlacklistLookupBatcher batcher; // Null unless batching is enabled
+    private final Duration batchingTimeout;
+
+    // Null until the first rebuild succeeds; every lookup goes to Redis until then
+    private volatile RevocationBloomFilter filter;
+    // Filter being rebuilt; receives revocations that race with the scan
+    private volatile RevocationBloomFilter pending;
 
-    public JwtBlacklistService(StringRedisTemplate redisTemplate) {
+    public JwtBlacklistService(StringRedisTemplate redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               @Value("${jwt.blacklist.filter.expected-insertions:100000}") long expectedInsertions,
+                               @Value("${jwt.blacklist.filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${jwt.blacklist.batching.enabled:false}") boolean batchingEnabled,
+                               @Value("${jwt.blacklist.batching.window:200us}") Duration batchingWindow,
+                               @Value("${jwt.blacklist.batching.max-size:128}") int batchingMaxSize,
+                               @Value("${jwt.blacklist.batching.timeout:50ms}") Duration batchingTimeout,
+                               MeterRegistry meterRegistry) {
         this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filteredLookups = Counter.builder("jwt.blacklist.lookups")
+                .tag("source", "filter")
+                .description("Blacklist lookups answered by the local filter")
+                .register(meterRegistry);
+        this.redisLookups = Counter.builder("jwt.blacklist.lookups")
+                .tag("source", "redis")
+                .description("Blacklist lookups that had to ask Redis")
+                .register(meterRegistry);
+        this.redisChecks = new SingleFlight<>("jwt.blacklist", meterRegistry);
+        this.batcher = batchingEnabled
+                ? new BlacklistLookupBatcher(redisTemplate, batchingWindow, batchingMaxSize, meterRegistry)
+                : null;
+        this.batchingTimeout = batchingTimeout;
+    }
+
+    /**
+     * Subscribes to revocations published by other nodes.
+     */
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> remember(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(REVOCATION_CHANNEL));
+    }
+
+    /**
+     * Stops the lookup batcher, if any.
+     */
+    @PreDestroy
+    void shutdown() {
+        if (batcher != null) {
+            batcher.shutdown();
+        }
     }
 
     /**
@@ -28,9 +124,21 @@ public class JwtBlacklistService {
             return;
         }
         // System.out.println("✅ Blacklisting token for " + expirationMs + "ms");
-        redisTemplate.opsForValue().set(token, "BLACKLISTED", expirationMs, TimeUnit.MILLISECONDS);
+        blacklistId(tokenId(token), expirationMs);
+    }
+
+    /**
+     * Blacklists an already verified token, keyed by its ID.
+     *
+     * @param token The verified token to blacklist.
+     * @param expirationMs The expiration time in milliseconds.
+     */
+    public void blacklistToken(VerifiedToken token, long expirationMs) {
+        if (token == null || expirationMs <= 0) {
+            return;
+        }
+        blacklistId(tokenId(token), expirationMs);
     }
-    
 
     /**
      * Checks if a token is blacklisted.
@@ -39,6 +147,144 @@ public class JwtBlacklistService {
      * @return True if the token is blacklisted, false otherwise.
      */
     public boolean isTokenBlacklisted(String token) {
-        return redisTemplate.hasKey(token);
+        return isBlacklisted(tokenId(token), token);
+    }
+
+    /**
+     * Checks if an already verified token is blacklisted.
+     *
+     * @param token The verified token.
+     * @return True if the token is blacklisted, false otherwise.
+     */
+    public boolean isTokenBlacklisted(VerifiedToken token) {
+        return isBlacklisted(tokenId(token), token.getToken());
+    }
+
+    private void blacklistId(String id, long expirationMs) {
+        // Write to Redis before announcing, so a concurrent rebuild either scans the key or sees the message
+        redisTemplate.opsForValue().set(KEY_PREFIX + id, "1", expirationMs, TimeUnit.MILLISECONDS);
+        remember(id);
+        redisTemplate.convertAndSend(REVOCATION_CHANNEL, id);
+    }
+
+    private boolean isBlacklisted(String id, String token) {
+        RevocationBloomFilter current = filter;
+        // Tokens without an ID may be revoked under the old raw-token key, which the filter does not
+        // track; they predate token IDs and expire with them, so they always ask Redis
+        boolean legacy = id.startsWith(DIGEST_ID_PREFIX);
+        if (current != null && !legacy && !current.mightContain(id)) {
+            filteredLookups.increment();
+            return false;
+        }
+        redisLookups.increment();
+        return redisChecks.execute(id, () -> existsInRedis(id, token));
+    }
+
+    private boolean existsInRedis(String id, String token) {
+        // Tokens without an ID may still be blacklisted under the old raw-token key until it expires
+        boolean legacy = id.startsWith(DIGEST_ID_PREFIX);
+
+        if (batcher != null) {
+            CompletableFuture<Boolean> current = batcher.exists(KEY_PREFIX + id);
+            CompletableFuture<Boolean> old = legacy ? batcher.exists(token) : null;
+            return awaitBatched(current, KEY_PREFIX + id) || (old != null && awaitBatched(old, token));
+        }
+
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + id))) {
+            return true;
+        }
+        return legacy && Boolean.TRUE.equals(redisTemplate.hasKey(token));
+    }
+
+    /**
+     * Waits a bounded time for a batched lookup. If the batch is late or the batcher has stopped,
+     * the key is checked directly instead, so a request never hangs on the batcher.
+     */
+    private boolean awaitBatched(CompletableFuture<Boolean> lookup, String key) {
+        try {
+            return lookup.get(batchingTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Fall through to a direct lookup; a Redis outage surfaces from there
+        }
+        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+    }
+
+    /**
+     * Rebuilds the local filter from the blacklist entries in Redis with one SCAN of the
+     * {@code jwt:bl:} keys. Runs on startup and then periodically, which also drops tokens whose
+     * entries have expired and recovers revocations missed while the pub/sub connection was down.
+     * Old raw-token keys are not scanned; tokens that could be listed under them bypass the filter.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.blacklist.filter.rebuild-interval:600000}")
+    public void rebuildFilter() {
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter(expectedInsertions, falsePositiveRate);
+        pending = rebuilt;
+        try {
+            long count = 0;
+            try (Cursor<String> cursor = scan(KEY_PREFIX + "*")) {
+                while (cursor.hasNext()) {
+                    rebuilt.put(cursor.next().substring(KEY_PREFIX.length()));
+                    count++;
+                }
+            }
+            filter = rebuilt;
+            if (count > expectedInsertions) {
+                logger.warn("Revocation filter holds {} tokens but is sized for {}; false positives will rise",
+                        count, expectedInsertions);
+            }
+        } catch (RuntimeException e) {
+            // Keep the previous filter (or none, which means every lookup goes to Redis)
+            logger.warn("Could not rebuild the revocation filter from Redis", e);
+        } finally {
+            pending = null;
+        }
+    }
+
+    private Cursor<String> scan(String pattern) {
+        return redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(1000).build());
+    }
+
+    /**
+     * The ID a token is blacklisted under: its jti claim, or its digest if it has none.
+     */
+    private static String tokenId(VerifiedToken token) {
+        return token.getTokenId() != null ? token.getTokenId() : DIGEST_ID_PREFIX + TokenDigests.sha256(token.getToken());
+    }
+
+    /**
+     * Same as {@link #tokenId(VerifiedToken)} for a token that has not been verified.
+     * Only reads the jti from the payload; a forged ID cannot get a token accepted because
+     * the signature is still checked separately.
+     */
+    private static String tokenId(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length == 3) {
+            try {
+                JsonNode jti = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1])).get("jti");
+                if (jti != null && jti.isTextual()) {
+                    return jti.asText();
+                }
+            } catch (Exception e) {
+                // Not a decodable JWT; fall back to the digest
+            }
+        }
+        return DIGEST_ID_PREFIX + TokenDigests.sha256(token);
+    }
+
+    /**
+     * Records a revoked token ID in the local filter and in any filter being rebuilt.
+     */
+    private void remember(String token) {
+        // Read the pending filter first: a rebuild publishes its filter before clearing pending
+        RevocationBloomFilter rebuilding = pending;
+        if (rebuilding != null) {
+            rebuilding.put(token);
+        }
+        RevocationBloomFilter current = filter;
+        if (current != null) {
+            current.put(token);
+        }
     }
 }
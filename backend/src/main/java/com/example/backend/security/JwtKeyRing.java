@@ -0,0 +1,194 @@
+package com.example.backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keys used to sign and verify JWTs, indexed by key ID ({@code kid} header).
+ * Key material is decoded once at startup. Tokens are signed with the active key and carry
+ * its ID; verification picks the key by the token's {@code kid}, so keys can be rotated
+ * without downtime by adding a new key, making it active, and removing the old one once the
+ * tokens it signed have expired.
+ *
+ * <p>{@code jwt.secret} is always in the ring, under {@code jwt.secret-key-id}, and also
+ * verifies tokens issued before key IDs existed. Further keys are configured as
+ * {@code jwt.keys.<kid>.algorithm} (HS256/384/512, ES256/384/512, RS256/384/512) with either
+ * {@code secret} (Base64) or {@code public-key} (Base64 X.509) and, for the active key,
+ * {@code private-key} (Base64 PKCS#8).
+ */
+@Component
+public class JwtKeyRing {
+
+    /**
+     * Configuration of one key under {@code jwt.keys.<kid>}.
+     */
+    public static class KeyProperties {
+
+        private String algorithm = "HS256";
+        private String secret;
+        private String privateKey;
+        private String publicKey;
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+
+        public String getPrivateKey() {
+            return privateKey;
+        }
+
+        public void setPrivateKey(String privateKey) {
+            this.privateKey = privateKey;
+        }
+
+        public String getPublicKey() {
+            return publicKey;
+        }
+
+        public void setPublicKey(String publicKey) {
+            this.publicKey = publicKey;
+        }
+    }
+
+    /**
+     * A decoded key. The signing key is null for verify-only keys.
+     */
+    record RingKey(String id, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey) {}
+
+    private final Map<String, RingKey> keys;
+    private final RingKey legacyKey;
+    private final RingKey activeKey;
+    private final JwtParser parser;
+
+    public JwtKeyRing(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.secret-key-id:primary}") String secretKeyId,
+                      @Value("${jwt.active-key-id:${jwt.secret-key-id:primary}}") String activeKeyId,
+                      Environment environment) {
+        Map<String, RingKey> ring = new HashMap<>();
+
+        // Same interpretation as the old signWith(HS256, secret): the secret is Base64
+        SecretKeySpec secretKey = new SecretKeySpec(Base64.getDecoder().decode(secret), "HmacSHA256");
+        this.legacyKey = new RingKey(secretKeyId, SignatureAlgorithm.HS256, secretKey, secretKey);
+        ring.put(secretKeyId, legacyKey);
+
+        Binder.get(environment)
+                .bind("jwt.keys", Bindable.mapOf(String.class, KeyProperties.class))
+                .orElse(Map.of())
+                .forEach((id, properties) -> ring.put(id, decode(id, properties)));
+
+        this.keys = Map.copyOf(ring);
+        this.activeKey = keys.get(activeKeyId);
+        if (activeKey == null || activeKey.signingKey() == null) {
+            throw new IllegalStateException("Active JWT key '" + activeKeyId + "' is not configured with a signing key.");
+        }
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKey(header);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * The key new tokens are signed with.
+     */
+    RingKey activeKey() {
+        return activeKey;
+    }
+
+    /**
+     * Parser that verifies tokens against the ring. Built once; thread-safe.
+     */
+    JwtParser parser() {
+        return parser;
+    }
+
+    /**
+     * Whether tokens signed under this key ID (null for the legacy key) can still be verified.
+     */
+    boolean hasKey(String keyId) {
+        return keyId == null || keys.containsKey(keyId);
+    }
+
+    private Key verificationKey(JwsHeader<?> header) {
+        RingKey key = header.getKeyId() == null ? legacyKey : keys.get(header.getKeyId());
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key ID.");
+        }
+        // The token's alg header must match the key, never the other way round
+        if (!key.algorithm().getValue().equals(header.getAlgorithm())) {
+            throw new SignatureException("JWT algorithm does not match its key.");
+        }
+        return key.verificationKey();
+    }
+
+    private static RingKey decode(String id, KeyProperties properties) {
+        SignatureAlgorithm algorithm;
+        try {
+            algorithm = SignatureAlgorithm.forName(properties.getAlgorithm());
+        } catch (SignatureException e) {
+            throw new IllegalArgumentException("Unsupported algorithm for JWT key '" + id + "': " + properties.getAlgorithm());
+        }
+
+        try {
+            if (algorithm.isHmac()) {
+                if (properties.getSecret() == null) {
+                    throw new IllegalArgumentException("JWT key '" + id + "' needs a secret.");
+                }
+                Key key = new SecretKeySpec(Base64.getDecoder().decode(properties.getSecret()), algorithm.getJcaName());
+                return new RingKey(id, algorithm, key, key);
+            }
+
+            if (algorithm.isEllipticCurve() || algorithm.isRsa()) {
+                if (properties.getPublicKey() == null) {
+                    throw new IllegalArgumentException("JWT key '" + id + "' needs a public key.");
+                }
+                KeyFactory factory = KeyFactory.getInstance(algorithm.isEllipticCurve() ? "EC" : "RSA");
+                Key publicKey = factory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getDecoder().decode(properties.getPublicKey())));
+                Key privateKey = properties.getPrivateKey() == null ? null : factory.generatePrivate(
+                        new PKCS8EncodedKeySpec(Base64.getDecoder().decode(properties.getPrivateKey())));
+                return new RingKey(id, algorithm, privateKey, publicKey);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid key material for JWT key '" + id + "'.", e);
+        }
+
+        throw new IllegalArgumentException("Unsupported algorithm for JWT key '" + id + "': " + properties.getAlgorithm());
+    }
+}
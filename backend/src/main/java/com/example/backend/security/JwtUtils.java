@@ -1,14 +1,18 @@
 package com.example.backend.security;
 
+import com.example.backend.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -17,6 +21,13 @@ import java.util.Set;
 @Component
 public class JwtUtils {
 
+    // Identity claims used by claims-only authentication
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String SECURITY_VERSION_CLAIM = "ver";
+    public static final String ENABLED_CLAIM = "enabled";
+
+    private static final SecureRandom TOKEN_ID_RANDOM = new SecureRandom();
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -25,10 +36,17 @@ public class JwtUtils {
 
     private final JwtBlacklistService jwtBlacklistService;
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final JwtKeyRing keyRing;
+
     private final Set<String> revokedTokens = new HashSet<>(); // Store revoked tokens
 
-    public JwtUtils(JwtBlacklistService jwtBlacklistService) {
+    public JwtUtils(JwtBlacklistService jwtBlacklistService, VerifiedTokenCache verifiedTokenCache,
+                    JwtKeyRing keyRing) {
         this.jwtBlacklistService = jwtBlacklistService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.keyRing = keyRing;
     }
 
     /**
@@ -36,18 +54,85 @@ public class JwtUtils {
      */
     public String generateToken(String username, long expirationMillis, String role) {
         Date expirationDate = new Date(System.currentTimeMillis() + expirationMillis);
+        JwtKeyRing.RingKey key = keyRing.activeKey();
     
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.id())
+                .setId(newTokenId())
                 .setSubject(username)
                 .claim("authorities", List.of(role))  // ✅ Store role under "authorities" claim
                 .setIssuedAt(new Date())
                 .setExpiration(expirationDate)
-                .signWith(SignatureAlgorithm.HS256, secret)
+                .signWith(key.signingKey(), key.algorithm())
                 .compact();
     }
-    
-    
-    
+
+    /**
+     * Generates a JWT token carrying everything needed to authenticate the user from
+     * claims alone: user ID, all roles, the enabled flag and the security version.
+     */
+    public String generateToken(User user, long expirationMillis) {
+        Date expirationDate = new Date(System.currentTimeMillis() + expirationMillis);
+        List<String> roles = user.getRoles().isEmpty() ? List.of("ROLE_USER") : List.copyOf(user.getRoles());
+        JwtKeyRing.RingKey key = keyRing.activeKey();
+
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.id())
+                .setId(newTokenId())
+                .setSubject(user.getUsername())
+                .claim("authorities", roles)
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(SECURITY_VERSION_CLAIM, user.getSecurityVersion())
+                .claim(ENABLED_CLAIM, user.isEnabled())
+                .setIssuedAt(new Date())
+                .setExpiration(expirationDate)
+                .signWith(key.signingKey(), key.algorithm())
+                .compact();
+    }
+
+
+    /**
+     * Generates a random 128-bit token ID (jti) as 22 Base64URL characters.
+     * Revocation is keyed by this ID rather than by the whole token.
+     */
+    private static String newTokenId() {
+        byte[] bytes = new byte[16];
+        TOKEN_ID_RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Verifies the signature and expiry of a token and decodes its claims in a single pass.
+     * Tokens seen before are answered from {@link VerifiedTokenCache} without recomputing
+     * the signature, as long as the key they were verified with is still in the ring.
+     * The blacklist is not consulted here. Callers that need revocation checks do them once
+     * against the returned token.
+     *
+     * @param token The compact JWT string.
+     * @return The verified token, or empty if the token is malformed, tampered with or expired.
+     */
+    public Optional<VerifiedToken> verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            if (keyRing.hasKey(cached.getKeyId())) {
+                return Optional.of(cached);
+            }
+            // Verified under a key that has since left the ring; the parse below rejects it
+            verifiedTokenCache.invalidate(token);
+        }
+
+        try {
+            VerifiedToken verifiedToken = VerifiedToken.from(token, keyRing.parser().parseClaimsJws(token));
+            verifiedTokenCache.put(verifiedToken);
+            return Optional.of(verifiedToken);
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
 
     /**
      * Validates a JWT token.
@@ -61,12 +146,7 @@ public class JwtUtils {
         //     return false;
         // }
 
-        try {
-            Jwts.parser().setSigningKey(secret).parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return verifyToken(token).isPresent();
     }
 
     /**
@@ -84,16 +164,23 @@ public class JwtUtils {
     }
 
     /**
-     * Parses claims from a token.
+     * Parses claims from a token, verifying it with the key named by its kid header.
      */
     private Claims parseClaims(String token) {
-        return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+        return keyRing.parser().parseClaimsJws(token).getBody();
     }
 
     public String getSecret() {
         return secret;
     }
 
+    /**
+     * Lifetime of access tokens issued at login or refresh, from {@code jwt.expiration}.
+     */
+    public long getExpirationMs() {
+        return expirationMs;
+    }
+
     
     /**
      * Revokes a token by adding it to the revoked list.
@@ -0,0 +1,197 @@
+package com.example.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service for throttling failed logins per username and per client IP.
+ * Failures are kept in Redis as a sorted set of timestamps ({@code auth:login:fail:<kind>:<id>}),
+ * and only those within the last window count, so the window slides: a failure stops counting
+ * exactly one window after it happened, however many come after it. Once the count reaches
+ * its limit, the username or IP is locked out ({@code auth:login:lock:<kind>:<id>}) for a period
+ * that doubles with every further failure, up to a maximum. Locks are remembered locally as
+ * well, so repeated attempts against a locked account are turned away without a Redis round
+ * trip, a database query or a password hash.
+ *
+ * <p>The IP must be the real client's. Behind a reverse proxy every request comes from the
+ * proxy, so one client could lock everyone out; {@code server.forward-headers-strategy} has to be
+ * set so that {@code request.getRemoteAddr()} reports the address the proxy forwarded.
+ */
+@Service
+public class LoginThrottleService {
+
+    private static final String FAILURES_PREFIX = "auth:login:fail:";
+    private static final String LOCK_PREFIX = "auth:login:lock:";
+    private static final String USER = "user:";
+    private static final String IP = "ip:";
+
+    // Adds a failure for the username and the IP, drops those older than the window, and locks
+    // either out once over its limit. Only the newest failures past the limit affect the lockout,
+    // so older ones beyond that are trimmed and a set never grows past limit + 31 entries.
+    // Returns the time each lock ends, or 0 if not locked.
+    private static final RedisScript<List<Long>> RECORD_FAILURE = new DefaultRedisScript<>(
+            "local now = tonumber(ARGV[1]) " +
+            "local window = tonumber(ARGV[2]) " +
+            "local lockout = tonumber(ARGV[3]) " +
+            "local maxLockout = tonumber(ARGV[4]) " +
+            "local result = {} " +
+            "for i = 0, 1 do " +
+            "  local key = KEYS[i * 2 + 1] " +
+            "  local limit = tonumber(ARGV[5 + i]) " +
+            "  redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window) " +
+            "  redis.call('ZADD', key, now, ARGV[1] .. ':' .. ARGV[7]) " +
+            "  redis.call('ZREMRANGEBYRANK', key, 0, -(limit + 32)) " +
+            "  redis.call('PEXPIRE', key, window) " +
+            "  local over = redis.call('ZCARD', key) - limit " +
+            "  local lockedUntil = 0 " +
+            "  if over >= 0 then " +
+            "    local duration = math.floor(math.min(lockout * 2 ^ math.min(over, 30), maxLockout)) " +
+            "    lockedUntil = now + duration " +
+            "    redis.call('SET', KEYS[i * 2 + 2], lockedUntil, 'PX', duration) " +
+            "  end " +
+            "  result[i + 1] = lockedUntil " +
+            "end " +
+            "return result",
+            longList());
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final int maxFailuresPerUser;
+    private final int maxFailuresPerIp;
+    private final Duration window;
+    private final Duration lockout;
+    private final Duration maxLockout;
+    private final Cache<String, Long> locks;
+    private final Counter blockedLocally;
+    private final Counter blockedByRedis;
+
+    public LoginThrottleService(StringRedisTemplate redisTemplate,
+                                @Value("${security.login-throttle.enabled:true}") boolean enabled,
+                                @Value("${security.login-throttle.username.max-failures:5}") int maxFailuresPerUser,
+                                @Value("${security.login-throttle.ip.max-failures:50}") int maxFailuresPerIp,
+                                @Value("${security.login-throttle.window:15m}") Duration window,
+                                @Value("${security.login-throttle.lockout:1m}") Duration lockout,
+                                @Value("${security.login-throttle.max-lockout:1h}") Duration maxLockout,
+                                @Value("${security.login-throttle.cache-max-size:100000}") long cacheMaxSize,
+                                MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.maxFailuresPerUser = maxFailuresPerUser;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.window = window;
+        this.lockout = lockout;
+        this.maxLockout = maxLockout;
+        this.locks = Caffeine.newBuilder()
+                .expireAfterWrite(maxLockout)
+                .maximumSize(cacheMaxSize)
+                .build();
+
+        this.blockedLocally = Counter.builder("auth.login.blocked")
+                .tag("source", "local")
+                .description("Login attempts rejected because of a lockout")
+                .register(meterRegistry);
+        this.blockedByRedis = Counter.builder("auth.login.blocked")
+                .tag("source", "redis")
+                .description("Login attempts rejected because of a lockout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether logins for the username or from the IP are locked out.
+     * Must be called before the user is loaded or the password is checked.
+     *
+     * @param username The normalized username.
+     * @param ip The client IP.
+     * @return How long the lockout still lasts, or {@link Duration#ZERO} if the attempt may proceed.
+     */
+    public Duration checkAllowed(String username, String ip) {
+        if (!enabled) {
+            return Duration.ZERO;
+        }
+        String userKey = USER + username;
+        String ipKey = IP + ip;
+        long now = System.currentTimeMillis();
+
+        long lockedUntil = Math.max(cachedLock(userKey), cachedLock(ipKey));
+        if (lockedUntil > now) {
+            blockedLocally.increment();
+            return Duration.ofMillis(lockedUntil - now);
+        }
+
+        // Another node may have locked the user or IP out
+        List<String> remote = redisTemplate.opsForValue().multiGet(List.of(LOCK_PREFIX + userKey, LOCK_PREFIX + ipKey));
+        lockedUntil = Math.max(remember(userKey, remote.get(0)), remember(ipKey, remote.get(1)));
+        if (lockedUntil > now) {
+            blockedByRedis.increment();
+            return Duration.ofMillis(lockedUntil - now);
+        }
+        return Duration.ZERO;
+    }
+
+    /**
+     * Records a failed login for the username and the IP.
+     *
+     * @param username The normalized username.
+     * @param ip The client IP.
+     */
+    public void recordFailure(String username, String ip) {
+        if (!enabled) {
+            return;
+        }
+        String userKey = USER + username;
+        String ipKey = IP + ip;
+
+        List<Long> lockedUntil = redisTemplate.execute(RECORD_FAILURE,
+                List.of(FAILURES_PREFIX + userKey, LOCK_PREFIX + userKey, FAILURES_PREFIX + ipKey, LOCK_PREFIX + ipKey),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(window.toMillis()),
+                String.valueOf(lockout.toMillis()), String.valueOf(maxLockout.toMillis()),
+                String.valueOf(maxFailuresPerUser), String.valueOf(maxFailuresPerIp),
+                Long.toHexString(ThreadLocalRandom.current().nextLong())); // Tells apart failures in the same millisecond
+        remember(userKey, String.valueOf(lockedUntil.get(0)));
+        remember(ipKey, String.valueOf(lockedUntil.get(1)));
+    }
+
+    /**
+     * Clears the failure count of a username after a successful login.
+     * The IP's count is kept, so one valid account does not reset a spraying attack.
+     *
+     * @param username The normalized username.
+     */
+    public void recordSuccess(String username) {
+        if (enabled) {
+            redisTemplate.delete(FAILURES_PREFIX + USER + username);
+        }
+    }
+
+    /**
+     * Result type of {@link #RECORD_FAILURE}: Redis integer replies are read as longs.
+     */
+    @SuppressWarnings("unchecked")
+    private static Class<List<Long>> longList() {
+        return (Class<List<Long>>) (Class<?>) List.class;
+    }
+
+    private long cachedLock(String key) {
+        Long lockedUntil = locks.getIfPresent(key);
+        return lockedUntil != null ? lockedUntil : 0;
+    }
+
+    private long remember(String key, String lockedUntil) {
+        long until = lockedUntil != null ? Long.parseLong(lockedUntil) : 0;
+        if (until > System.currentTimeMillis()) {
+            locks.put(key, until);
+        }
+        return until;
+    }
+}
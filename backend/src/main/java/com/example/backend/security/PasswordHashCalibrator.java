@@ -0,0 +1,45 @@
+package com.example.backend.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks a BCrypt work factor for this machine. BCrypt's cost doubles with each strength step,
+ * so one measurement at the minimum strength is enough to extrapolate the rest.
+ */
+public final class PasswordHashCalibrator {
+
+    private static final int MAX_BCRYPT_STRENGTH = 31;
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123";
+
+    private PasswordHashCalibrator() {}
+
+    /**
+     * Returns the highest BCrypt strength whose hash time stays within the target,
+     * but never less than the given minimum.
+     *
+     * @param target The hash time to aim for.
+     * @param minStrength The lowest strength to accept, however slow the machine.
+     * @return The calibrated strength.
+     */
+    public static int calibrateBCryptStrength(Duration target, int minStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode(SAMPLE_PASSWORD); // Warm up
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        int strength = minStrength;
+        long estimate = best;
+        while (strength < MAX_BCRYPT_STRENGTH && estimate * 2 <= target.toNanos()) {
+            strength++;
+            estimate *= 2;
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.backend.security;
+
+import com.example.backend.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for opaque, rotating refresh tokens stored in Redis.
+ * Only a digest of each token is stored ({@code auth:refresh:<sha256>}), mapped to the user
+ * and issue time. Every refresh consumes the token and issues a new one. A consumed token
+ * leaves a short marker behind; presenting it again means it was copied, so every token of
+ * the user is revoked through {@link TokenEpochService}, which also covers refresh tokens.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final String KEY_PREFIX = "auth:refresh:";
+    private static final String USED_KEY_PREFIX = "auth:refresh:used:";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // GET and DEL in one step (GETDEL needs Redis 6.2); leaves a marker for reuse detection
+    private static final RedisScript<String> CONSUME = new DefaultRedisScript<>(
+            "local value = redis.call('GET', KEYS[1]) " +
+            "if value then " +
+            "  local ttl = redis.call('PTTL', KEYS[1]) " +
+            "  redis.call('DEL', KEYS[1]) " +
+            "  if ttl > 0 then redis.call('SET', KEYS[2], value, 'PX', ttl) end " +
+            "  return 'valid:' .. value " +
+            "end " +
+            "local used = redis.call('GET', KEYS[2]) " +
+            "if used then return 'reused:' .. used end " +
+            "return false",
+            String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final TokenEpochService tokenEpochService;
+    private final Duration lifetime;
+
+    public RefreshTokenService(StringRedisTemplate redisTemplate, TokenEpochService tokenEpochService,
+                               @Value("${jwt.refresh-expiration:30d}") Duration lifetime) {
+        this.redisTemplate = redisTemplate;
+        this.tokenEpochService = tokenEpochService;
+        this.lifetime = lifetime;
+    }
+
+    /**
+     * Issues a new refresh token for the user.
+     *
+     * @param user The user the token is issued to.
+     * @return The opaque refresh token.
+     */
+    public String issue(User user) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        String value = System.currentTimeMillis() + ":" + user.getUsername();
+        redisTemplate.opsForValue().set(KEY_PREFIX + TokenDigests.sha256(token), value,
+                lifetime.toMillis(), TimeUnit.MILLISECONDS);
+        return token;
+    }
+
+    /**
+     * Consumes a refresh token so it cannot be used again.
+     *
+     * @param token The refresh token presented by the client.
+     * @return The username the token was issued to, or empty if it is unknown, expired,
+     *         already used or revoked.
+     */
+    public Optional<String> consume(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String digest = TokenDigests.sha256(token);
+        String result = redisTemplate.execute(CONSUME, List.of(KEY_PREFIX + digest, USED_KEY_PREFIX + digest));
+        if (result == null) {
+            return Optional.empty();
+        }
+
+        boolean reused = result.startsWith("reused:");
+        String[] value = result.substring(result.indexOf(':') + 1).split(":", 2);
+        long issuedAt = Long.parseLong(value[0]);
+        String username = value[1];
+
+        if (reused) {
+            // The token was copied: end every session of the user, including the thief's
+            tokenEpochService.revokeAllTokens(username);
+            return Optional.empty();
+        }
+        if (tokenEpochService.isRevoked(username, issuedAt)) {
+            return Optional.empty();
+        }
+        return Optional.of(username);
+    }
+
+    /**
+     * Revokes a refresh token, e.g. on logout.
+     *
+     * @param token The refresh token.
+     */
+    public void revoke(String token) {
+        if (token != null && !token.isEmpty()) {
+            redisTemplate.delete(KEY_PREFIX + TokenDigests.sha256(token));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of revoked token identifiers.
+ * A negative answer is definite; a positive answer only means "maybe revoked" and has
+ * to be confirmed against Redis. Entries cannot be removed, so the filter is rebuilt
+ * periodically to drop tokens whose blacklist entries have expired.
+ */
+public class RevocationBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitMask;
+    private final int hashCount;
+
+    /**
+     * Sizes the filter for the expected number of revoked tokens and false-positive rate.
+     *
+     * @param expectedInsertions The number of revoked tokens the filter is sized for.
+     * @param falsePositiveRate  The target false-positive rate at that size (e.g. 0.01).
+     */
+    public RevocationBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(expectedInsertions, 1);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        // Rounded up to a power of two, so an odd probe step visits every bit before repeating one
+        long minWords = Math.max((m + 63) / 64, 1);
+        int words = 1 << (64 - Long.numberOfLeadingZeros(minWords - 1));
+
+        this.bits = new AtomicLongArray(words);
+        this.bitMask = (long) words * 64 - 1;
+        this.hashCount = Math.max((int) Math.round((double) m / n * Math.log(2)), 1);
+    }
+
+    /**
+     * Records a revoked token identifier.
+     */
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L) | 1; // Odd, so no two probes hit the same bit
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (hash1 + i * hash2) & bitMask;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * Returns false if the identifier was definitely never recorded.
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L) | 1; // Odd, so no two probes hit the same bit
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (hash1 + i * hash2) & bitMask;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with a mixing step.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * MurmurHash3 fmix64 finalizer; used to derive the second hash for double hashing.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
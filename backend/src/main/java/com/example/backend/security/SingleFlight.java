@@ -0,0 +1,84 @@
+package com.example.backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one.
+ * The first caller runs the lookup; callers arriving while it is in flight wait for and share
+ * its result (or exception). Nothing is cached: once the call finishes, the next caller
+ * starts a new one.
+ *
+ * <p>Publishes {@code singleflight.calls{name, role=leader|follower}}; the coalescing ratio is
+ * followers / (leaders + followers).
+ *
+ * @param <K> The lookup key type.
+ * @param <V> The result type.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("role", "leader")
+                .description("Calls that performed the lookup")
+                .register(meterRegistry);
+        this.followers = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("role", "follower")
+                .description("Calls that shared the result of a lookup already in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the lookup for a key, or joins the one already running for it.
+     *
+     * @param key The lookup key.
+     * @param lookup The lookup to run if none is in flight.
+     * @return The result of the lookup.
+     */
+    public V execute(K key, Supplier<V> lookup) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            followers.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V result = lookup.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Waits for a future and rethrows its failure unwrapped.
+     */
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
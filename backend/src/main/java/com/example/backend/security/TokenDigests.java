@@ -0,0 +1,30 @@
+package com.example.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Fixed-width digests of token strings, used wherever a token has to be stored or
+ * looked up without keeping the token itself.
+ */
+public final class TokenDigests {
+
+    private TokenDigests() {}
+
+    /**
+     * Computes the SHA-256 digest of a token as unpadded Base64URL (43 characters).
+     *
+     * @param token The token to digest.
+     * @return The encoded digest.
+     */
+    public static String sha256(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
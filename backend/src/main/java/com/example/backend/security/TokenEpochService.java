@@ -0,0 +1,129 @@
+package com.example.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Service for revoking every token of a user at once.
+ * Each user has a revocation epoch in Redis ({@code jwt:epoch:<username>}); any token issued
+ * before it is rejected. Epochs are cached locally and invalidated across nodes over pub/sub,
+ * so the check costs a map lookup on the request path. The record expires once every token
+ * it could reject has expired on its own, so Redis holds at most one small key per user.
+ */
+@Service
+public class TokenEpochService {
+
+    /**
+     * Pub/sub channel on which every node announces the users whose epoch moved.
+     */
+    public static final String EPOCH_CHANNEL = "jwt:epochs";
+
+    private static final String KEY_PREFIX = "jwt:epoch:";
+
+    // Only ever moves the epoch forward, even if nodes' clocks disagree
+    private static final RedisScript<Long> ADVANCE_EPOCH = new DefaultRedisScript<>(
+            "local current = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "local epoch = math.max(current, tonumber(ARGV[1])) " +
+            "redis.call('SET', KEYS[1], epoch, 'PX', ARGV[2]) " +
+            "return epoch",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Duration retention;
+    private final Cache<String, Long> epochs;
+
+    public TokenEpochService(StringRedisTemplate redisTemplate,
+                             RedisMessageListenerContainer listenerContainer,
+                             @Value("${jwt.epoch.retention:30d}") Duration retention,
+                             @Value("${jwt.epoch.cache-ttl:30s}") Duration cacheTtl,
+                             @Value("${jwt.epoch.cache-max-size:100000}") long cacheMaxSize,
+                             MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.retention = retention;
+        this.epochs = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl) // Bounds staleness if a pub/sub message is lost
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, epochs, "jwt.user-epochs");
+    }
+
+    /**
+     * Drops the cached epoch of users whose epoch moved on another node.
+     */
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> epochs.invalidate(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(EPOCH_CHANNEL));
+    }
+
+    /**
+     * Invalidates every token issued to the user up to now.
+     *
+     * @param username The username (token subject) whose tokens are revoked.
+     */
+    public void revokeAllTokens(String username) {
+        if (username == null || username.isEmpty()) {
+            return;
+        }
+        Long epoch = redisTemplate.execute(ADVANCE_EPOCH, List.of(KEY_PREFIX + username),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(retention.toMillis()));
+        epochs.put(username, epoch);
+        redisTemplate.convertAndSend(EPOCH_CHANNEL, username);
+    }
+
+    /**
+     * Checks whether a token was issued before its user's revocation epoch.
+     *
+     * @param token The verified token.
+     * @return True if the token has been revoked with all other tokens of its user.
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        Date issuedAt = token.getIssuedAt();
+        if (issuedAt == null || token.getSubject() == null) {
+            return false;
+        }
+        // iat has whole-second precision, so tokens issued in the same second as the epoch are kept
+        return issuedAt.getTime() < epochOf(token.getSubject()) / 1000 * 1000;
+    }
+
+    /**
+     * Checks whether a credential issued to a user at the given time (in milliseconds)
+     * predates the user's epoch.
+     *
+     * @param username The username the credential was issued to.
+     * @param issuedAtMillis When the credential was issued.
+     * @return True if the credential has been revoked with all other tokens of its user.
+     */
+    public boolean isRevoked(String username, long issuedAtMillis) {
+        return issuedAtMillis < epochOf(username);
+    }
+
+    private long epochOf(String username) {
+        return epochs.get(username, this::loadEpoch);
+    }
+
+    private long loadEpoch(String username) {
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + username);
+        return value == null ? 0L : Long.parseLong(value);
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.backend.security;
 
+import com.example.backend.config.CacheNames;
 import com.example.backend.model.User;
 import com.example.backend.repository.UserRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -20,14 +23,22 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         this.userRepository = userRepository;
     }
 
+    /**
+     * Loads the user for request authentication. Results are kept in the in-process
+     * user cache and evicted by {@code UserService} whenever the user changes. Concurrent
+     * misses for the same username share a single database query.
+     *
+     * <p>The details carry the account's enabled state but no password hash: passwords are
+     * only checked by the login endpoint, so the hash has no business in this cache.
+     */
     @Override
+    @Cacheable(cacheNames = CacheNames.USER_DETAILS, sync = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByUsername(username)
-                .map(user -> org.springframework.security.core.userdetails.User
-                        .withUsername(user.getUsername())
-                        .password(user.getPassword())
-                        .roles(user.getRoles().toArray(new String[0]))  // Ensure correct roles
-                        .build())
+                .map(user -> new UserDetailsImpl(user.getId(), user.getUsername(), null, user.isEnabled(),
+                        user.getRoles().stream()
+                                .map(role -> new SimpleGrantedAuthority(role.startsWith("ROLE_") ? role : "ROLE_" + role))
+                                .toList()))
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found: " + username));
     }
     
@@ -0,0 +1,60 @@
+package com.example.backend.security;
+
+import com.example.backend.dto.UserSecurityState;
+import com.example.backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived cache of each user's security version and enabled flag.
+ * Lets claims-only authentication trust a token without loading the user, and
+ * falls back to a single narrow query when the entry is missing or has expired.
+ */
+@Component
+public class UserSecurityStateCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Optional<UserSecurityState>> cache;
+
+    public UserSecurityStateCache(UserRepository userRepository,
+                                  @Value("${jwt.user-state-ttl:60s}") Duration ttl,
+                                  @Value("${jwt.user-state-max-size:100000}") long maxSize,
+                                  MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl) // Bounds how long another node's change can go unnoticed
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.user-security-state");
+    }
+
+    /**
+     * Returns the current security state of a user, loading it if not cached.
+     *
+     * @param userId The user ID.
+     * @return The security state, or empty if the user no longer exists.
+     */
+    public Optional<UserSecurityState> get(Long userId) {
+        return cache.get(userId, userRepository::findSecurityStateById);
+    }
+
+    /**
+     * Forgets the cached state of a user so the next request reloads it.
+     *
+     * @param userId The user ID.
+     */
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Immutable result of a successful JWT signature and expiry check.
+ * Built once per request by {@link JwtUtils#verifyToken(String)} and shared downstream
+ * so the token never has to be parsed again.
+ */
+public final class VerifiedToken {
+
+    private final String token;
+    private final String keyId;
+    private final String tokenId;
+    private final String subject;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final List<String> authorities;
+    private final Long userId;
+    private final Integer securityVersion;
+    private final boolean enabled;
+
+    public VerifiedToken(String token, String keyId, String tokenId, String subject, Date issuedAt, Date expiration,
+                         List<String> authorities, Long userId, Integer securityVersion, boolean enabled) {
+        this.token = token;
+        this.keyId = keyId;
+        this.tokenId = tokenId;
+        this.subject = subject;
+        this.issuedAt = issuedAt == null ? null : new Date(issuedAt.getTime());
+        this.expiration = expiration == null ? null : new Date(expiration.getTime());
+        this.authorities = authorities == null ? List.of() : List.copyOf(authorities);
+        this.userId = userId;
+        this.securityVersion = securityVersion;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Builds a verified token from a token that has already passed signature validation.
+     */
+    static VerifiedToken from(String token, Jws<Claims> jws) {
+        Claims claims = jws.getBody();
+        List<?> rawAuthorities = claims.get("authorities", List.class);
+        List<String> authorities = rawAuthorities == null
+                ? List.of()
+                : rawAuthorities.stream().map(String::valueOf).toList();
+
+        Number userId = claims.get(JwtUtils.USER_ID_CLAIM, Number.class);
+        Number securityVersion = claims.get(JwtUtils.SECURITY_VERSION_CLAIM, Number.class);
+        Boolean enabled = claims.get(JwtUtils.ENABLED_CLAIM, Boolean.class);
+
+        return new VerifiedToken(token, jws.getHeader().getKeyId(), claims.getId(), claims.getSubject(),
+                claims.getIssuedAt(), claims.getExpiration(), authorities,
+                userId == null ? null : userId.longValue(),
+                securityVersion == null ? null : securityVersion.intValue(),
+                enabled == null || enabled);
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * The ID (kid header) of the key the signature was verified with, or null for the legacy key.
+     */
+    public String getKeyId() {
+        return keyId;
+    }
+
+    /**
+     * The token's unique ID (jti claim), or null for tokens issued before IDs were added.
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt == null ? null : new Date(issuedAt.getTime());
+    }
+
+    public Date getExpiration() {
+        return expiration == null ? null : new Date(expiration.getTime());
+    }
+
+    public List<String> getAuthorities() {
+        return authorities;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Integer getSecurityVersion() {
+        return securityVersion;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether the token carries the identity claims needed for claims-only authentication.
+     * Tokens issued before those claims existed do not.
+     */
+    public boolean hasIdentityClaims() {
+        return userId != null && securityVersion != null;
+    }
+
+    /**
+     * Milliseconds left until the token expires (negative once expired).
+     */
+    public long getRemainingMillis() {
+        return expiration == null ? 0 : expiration.getTime() - System.currentTimeMillis();
+    }
+}
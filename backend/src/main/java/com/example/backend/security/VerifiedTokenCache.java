@@ -0,0 +1,87 @@
+package com.example.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-process cache of tokens that already passed signature verification.
+ * Entries are keyed by the SHA-256 digest of the token and never outlive the token's
+ * {@code exp} claim, so a repeat token skips HMAC and claim decoding entirely.
+ *
+ * The cache only remembers that a signature was valid. Revocation is still checked on
+ * every request by {@link JwtBlacklistService}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") long maxSize, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize) // Window TinyLFU eviction once the bound is reached
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+
+        // Publishes cache.gets{result=hit|miss}, cache.evictions and cache.size
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    /**
+     * Returns the cached verification result for a token, if it is still valid.
+     */
+    public VerifiedToken get(String token) {
+        VerifiedToken cached = cache.getIfPresent(TokenDigests.sha256(token));
+
+        // The digest identifies the token; comparing the strings rules out collisions
+        if (cached == null || !cached.getToken().equals(token) || cached.getRemainingMillis() <= 0) {
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Remembers a successfully verified token until it expires.
+     */
+    public void put(VerifiedToken verifiedToken) {
+        if (verifiedToken.getRemainingMillis() > 0) {
+            cache.put(TokenDigests.sha256(verifiedToken.getToken()), verifiedToken);
+        }
+    }
+
+    /**
+     * Drops a token from the cache, so its next use is verified from scratch. Called when the
+     * token is logged out and when its signing key has left the key ring.
+     */
+    public void invalidate(String token) {
+        cache.invalidate(TokenDigests.sha256(token));
+    }
+
+    /**
+     * Expires each entry at the {@code exp} claim of its token.
+     */
+    private static final class ExpireAtTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(value.getRemainingMillis(), 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
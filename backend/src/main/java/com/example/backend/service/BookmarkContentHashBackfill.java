@@ -0,0 +1,89 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Bookmark;
+import com.example.backend.repository.BookmarkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills in the content hash of bookmarks saved before the column existed, once at startup.
+ * Rows are updated in chunks, each in its own transaction. A row whose hash is already taken
+ * is a duplicate saved before the unique constraint; it is left without a hash and logged.
+ */
+@Service
+@ConditionalOnProperty(name = "bookmarks.content-hash.backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class BookmarkContentHashBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookmarkContentHashBackfill.class);
+
+    private final BookmarkRepository bookmarkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BookmarkContentHashBackfill(BookmarkRepository bookmarkRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${bookmarks.content-hash.backfill.chunk-size:500}") int chunkSize) {
+        this.bookmarkRepository = bookmarkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Hashes every bookmark that has no content hash yet.
+     *
+     * @return The number of bookmarks hashed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfill() {
+        int hashed = 0;
+        int duplicates = 0;
+        long after = 0;
+        int chunk;
+        do {
+            List<Long> ids = bookmarkRepository.findUnhashedIds(after, PageRequest.of(0, chunkSize));
+            chunk = ids.size();
+            if (ids.isEmpty()) {
+                break;
+            }
+            after = ids.get(ids.size() - 1); // Skipped duplicates stay null; don't pick them up again
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> hash(ids));
+                hashed += ids.size();
+            } catch (DataIntegrityViolationException e) {
+                // Some rows duplicate another bookmark; hash the rest one by one
+                for (Long id : ids) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> hash(List.of(id)));
+                        hashed++;
+                    } catch (DataIntegrityViolationException duplicate) {
+                        duplicates++;
+                    }
+                }
+            }
+        } while (chunk == chunkSize);
+
+        if (hashed > 0 || duplicates > 0) {
+            logger.info("Hashed {} bookmarks; {} duplicates left without a content hash", hashed, duplicates);
+        }
+        return hashed;
+    }
+
+    private void hash(List<Long> ids) {
+        for (Bookmark bookmark : bookmarkRepository.findAllById(ids)) {
+            bookmark.setContentHash(Bookmark.contentHashOf(bookmark.getUser().getId(), bookmark.getTitle(), bookmark.getUrl()));
+        }
+        bookmarkRepository.flush(); // Updates go out in JDBC batches
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.backend.service;
+
+import com.example.backend.model.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service for exporting all of a user's bookmarks as gzipped NDJSON.
+ * Rows are read through a forward-only JDBC cursor and written out one at a time with Jackson's
+ * streaming generator, so memory use stays flat however many bookmarks there are. Nothing goes
+ * through Hibernate, so no persistence context fills up along the way.
+ *
+ * <p>MySQL Connector/J only honours the fetch size with {@code useCursorFetch=true} in the URL;
+ * otherwise it buffers the whole result. Without that flag the export asks the driver to stream
+ * row by row instead (fetch size {@link Integer#MIN_VALUE}), so memory stays flat either way.
+ */
+@Service
+public class BookmarkExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookmarkExportService.class);
+
+    private static final String EXPORT_SQL =
+            "select id, title, url, created_at from bookmarks where user_id = ? order by created_at, id";
+
+    // Same format as createdAt in the bookmark API responses
+    private static final DateTimeFormatter CREATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public BookmarkExportService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 @Value("${bookmarks.export.fetch-size:500}") int fetchSize,
+                                 @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true); // Some drivers only use a server-side cursor outside auto-commit
+        this.objectMapper = objectMapper;
+        this.fetchSize = streamingFetchSize(datasourceUrl, fetchSize);
+    }
+
+    /**
+     * Writes every bookmark of a user, oldest first, to the output as gzipped NDJSON
+     * (one {@code {"id", "title", "url", "createdAt"}} object per line).
+     *
+     * @param user The user whose bookmarks are exported.
+     * @param out The stream to write to; it is finished but not closed.
+     * @return The number of bookmarks written.
+     * @throws IOException if writing to the output fails.
+     */
+    public long export(User user, OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, 8192);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long[] count = {0};
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, user.getId());
+                return statement;
+            }, rs -> {
+                try {
+                    writeRow(generator, rs);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // Client went away; stop reading rows
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        generator.flush();
+        gzip.finish();
+        return count[0];
+    }
+
+    private static int streamingFetchSize(String datasourceUrl, int fetchSize) {
+        String url = datasourceUrl.toLowerCase();
+        if (url.startsWith("jdbc:mysql:") && !url.contains("usecursorfetch=true")) {
+            logger.info("useCursorFetch=true is not set in the datasource URL; bookmark exports stream row by row");
+            return Integer.MIN_VALUE; // Connector/J's signal to stream instead of buffering the result
+        }
+        return fetchSize;
+    }
+
+    private static void writeRow(JsonGenerator generator, ResultSet rs) throws IOException, SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        generator.writeStartObject();
+        generator.writeNumberField("id", rs.getLong("id"));
+        generator.writeStringField("title", rs.getString("title"));
+        generator.writeStringField("url", rs.getString("url"));
+        generator.writeStringField("createdAt", createdAt == null ? null : CREATED_AT_FORMAT.format(createdAt.toLocalDateTime()));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
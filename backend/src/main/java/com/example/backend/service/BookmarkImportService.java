@@ -0,0 +1,302 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BookmarkImportReport;
+import com.example.backend.dto.BookmarkImportResult;
+import com.example.backend.model.Bookmark;
+import com.example.backend.model.User;
+import com.example.backend.repository.BookmarkRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service for importing bookmarks in bulk from NDJSON or a browser bookmarks export (HTML).
+ * The upload is read as a stream and processed in chunks. For each chunk, entries are validated
+ * with the same rules as saving a single bookmark, checked for duplicates by content hash against
+ * the file and the user's existing bookmarks in one query, and inserted with JDBC batches in one
+ * transaction.
+ */
+@Service
+public class BookmarkImportService {
+
+    /**
+     * Supported upload formats.
+     */
+    public enum Format {
+        NDJSON, // One JSON object per line with title, url and optionally createdAt
+        HTML // Netscape bookmark file as exported by browsers, one link per line
+    }
+
+    private static final List<String> FIELD_ORDER = List.of("title", "url");
+    private static final Pattern HTML_LINK = Pattern.compile(
+            "<A\\s([^>]*)>(.*?)</A>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern HTML_ATTRIBUTE = Pattern.compile(
+            "([A-Z_]+)\\s*=\\s*\"([^\"]*)\"", Pattern.CASE_INSENSITIVE);
+    // Same format as createdAt in the bookmark API responses and exports
+    private static final DateTimeFormatter CREATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final BookmarkRepository bookmarkRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public BookmarkImportService(BookmarkRepository bookmarkRepository,
+                                 NamedParameterJdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 EntityManager entityManager,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 @Value("${bookmarks.import.chunk-size:1000}") int chunkSize) {
+        this.bookmarkRepository = bookmarkRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports bookmarks for a user from an uploaded file.
+     *
+     * @param user The user the bookmarks are saved for.
+     * @param body The upload.
+     * @param format The format of the upload.
+     * @return The outcome of every entry.
+     * @throws IOException if the upload cannot be read.
+     */
+    public BookmarkImportReport importBookmarks(User user, InputStream body, Format format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<BookmarkImportResult> results = new ArrayList<>();
+        Set<String> seen = new HashSet<>(); // Content hashes
+        List<ImportEntry> chunk = new ArrayList<>(chunkSize);
+
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            ImportEntry entry = format == Format.NDJSON ? parseJsonEntry(lineNumber, line) : parseHtmlEntry(lineNumber, line);
+            if (entry == null) {
+                continue; // Folder headings and other markup without a link
+            }
+            chunk.add(entry);
+            if (chunk.size() == chunkSize) {
+                importChunk(user, chunk, seen, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(user, chunk, seen, results);
+        }
+
+        int created = 0;
+        int skipped = 0;
+        for (BookmarkImportResult result : results) {
+            if ("created".equals(result.status())) {
+                created++;
+            } else if ("skipped".equals(result.status())) {
+                skipped++;
+            }
+        }
+        return new BookmarkImportReport(created, skipped, results.size() - created - skipped, results);
+    }
+
+    private void importChunk(User user, List<ImportEntry> chunk, Set<String> seen,
+                             List<BookmarkImportResult> results) {
+        for (ImportEntry entry : chunk) {
+            validate(user, entry, seen);
+        }
+        skipExisting(chunk);
+
+        List<ImportEntry> accepted = chunk.stream().filter(entry -> entry.error == null).toList();
+        insert(user, accepted);
+
+        for (ImportEntry entry : chunk) {
+            if (entry.error == null) {
+                results.add(BookmarkImportResult.created(entry.line, entry.title));
+            } else if (entry.duplicate) {
+                results.add(BookmarkImportResult.skipped(entry.line, entry.title, entry.error));
+            } else {
+                results.add(BookmarkImportResult.failed(entry.line, entry.title, entry.error));
+            }
+        }
+    }
+
+    private void validate(User user, ImportEntry entry, Set<String> seen) {
+        if (entry.error != null) {
+            return;
+        }
+        if (entry.url != null) {
+            entry.url = entry.url.trim();
+        }
+
+        Bookmark bookmark = new Bookmark(entry.title, entry.url, null);
+        Set<ConstraintViolation<Bookmark>> violations = validator.validate(bookmark);
+        if (!violations.isEmpty()) {
+            entry.error = violations.stream()
+                    .min(Comparator.comparingInt(violation -> FIELD_ORDER.indexOf(violation.getPropertyPath().toString())))
+                    .get().getMessage();
+            return;
+        }
+
+        entry.contentHash = Bookmark.contentHashOf(user.getId(), entry.title, entry.url);
+        if (!seen.add(entry.contentHash)) {
+            entry.error = "Bookmark appears more than once in the import.";
+            entry.duplicate = true;
+        }
+    }
+
+    private void skipExisting(List<ImportEntry> chunk) {
+        List<String> hashes = chunk.stream().filter(entry -> entry.error == null).map(entry -> entry.contentHash).toList();
+        if (hashes.isEmpty()) {
+            return;
+        }
+
+        // One lookup per chunk on the unique content hash index
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "select content_hash from bookmarks where content_hash in (:hashes)",
+                new MapSqlParameterSource("hashes", hashes), String.class));
+
+        for (ImportEntry entry : chunk) {
+            if (entry.error == null && existing.contains(entry.contentHash)) {
+                markExisting(entry);
+            }
+        }
+    }
+
+    private void insert(User user, List<ImportEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(user, entries));
+        } catch (DataIntegrityViolationException e) {
+            // The user saved one of these bookmarks since the check; find out which, entry by entry
+            for (ImportEntry entry : entries) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertBatch(user, List.of(entry)));
+                } catch (DataIntegrityViolationException entryError) {
+                    markExisting(entry);
+                }
+            }
+        }
+    }
+
+    private void insertBatch(User user, List<ImportEntry> entries) {
+        List<Bookmark> bookmarks = entries.stream().map(entry -> {
+            Bookmark bookmark = new Bookmark(entry.title, entry.url, user);
+            if (entry.createdAt != null) {
+                bookmark.setCreatedAt(entry.createdAt);
+            }
+            return bookmark;
+        }).toList();
+
+        // IDs come from a pooled sequence, so Hibernate sends the chunk in JDBC batches
+        bookmarkRepository.saveAll(bookmarks);
+        bookmarkRepository.flush();
+        // The request may keep one persistence context open throughout; don't let it collect every chunk
+        entityManager.clear();
+    }
+
+    private static void markExisting(ImportEntry entry) {
+        entry.error = "Bookmark already exists";
+        entry.duplicate = true;
+    }
+
+    private ImportEntry parseJsonEntry(long line, String text) {
+        ImportEntry entry = new ImportEntry(line);
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            entry.title = node.path("title").textValue();
+            entry.url = node.path("url").textValue();
+            String createdAt = node.path("createdAt").textValue();
+            if (createdAt != null) {
+                entry.createdAt = LocalDateTime.parse(createdAt, CREATED_AT_FORMAT);
+            }
+        } catch (IOException e) {
+            entry.error = "Malformed JSON.";
+        } catch (DateTimeParseException e) {
+            entry.error = "createdAt must be formatted as yyyy-MM-dd HH:mm:ss.";
+        }
+        return entry;
+    }
+
+    private static ImportEntry parseHtmlEntry(long line, String text) {
+        Matcher link = HTML_LINK.matcher(text);
+        if (!link.find()) {
+            return null;
+        }
+
+        ImportEntry entry = new ImportEntry(line);
+        entry.title = unescapeHtml(link.group(2).replaceAll("<[^>]*>", "")).trim();
+        Matcher attribute = HTML_ATTRIBUTE.matcher(link.group(1));
+        while (attribute.find()) {
+            String value = unescapeHtml(attribute.group(2));
+            if (attribute.group(1).equalsIgnoreCase("HREF")) {
+                entry.url = value;
+            } else if (attribute.group(1).equalsIgnoreCase("ADD_DATE") && value.matches("\\d{1,12}")) {
+                entry.createdAt = LocalDateTime.ofInstant(Instant.ofEpochSecond(Long.parseLong(value)), ZoneId.systemDefault());
+            }
+        }
+        return entry;
+    }
+
+    private static String unescapeHtml(String text) {
+        return text.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&amp;", "&"); // Last, so "&amp;lt;" stays "&lt;"
+    }
+
+    /**
+     * One entry of the upload as it moves through validation and insertion.
+     */
+    private static final class ImportEntry {
+        private final long line;
+        private String title;
+        private String url;
+        private LocalDateTime createdAt;
+        private String contentHash;
+        private String error;
+        private boolean duplicate;
+
+        private ImportEntry(long line) {
+            this.line = line;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.BookmarkCursor;
+import com.example.backend.dto.BookmarkPage;
+import com.example.backend.dto.BookmarkView;
 import com.example.backend.model.Bookmark;
 import com.example.backend.model.User;
 import com.example.backend.repository.BookmarkRepository;
-import com.example.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -16,11 +21,15 @@ import java.util.Optional;
 public class BookmarkService {
 
     private final BookmarkRepository bookmarkRepository;
-    private final UserRepository userRepository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public BookmarkService(BookmarkRepository bookmarkRepository, UserRepository userRepository) {
+    public BookmarkService(BookmarkRepository bookmarkRepository,
+                           @Value("${bookmarks.page.default-size:50}") int defaultPageSize,
+                           @Value("${bookmarks.page.max-size:200}") int maxPageSize) {
         this.bookmarkRepository = bookmarkRepository;
-        this.userRepository = userRepository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     /**
@@ -29,26 +38,53 @@ public class BookmarkService {
      * @param title The title of the bookmarked content.
      * @param url The URL of the bookmarked content.
      * @return The saved bookmark.
+     * @throws IllegalArgumentException if the user already has this bookmark.
      */
     public Bookmark saveBookmark(User user, String title, String url) {
-        if (bookmarkRepository.existsByUserAndTitleAndUrl(user, title, url)) {
-            throw new IllegalArgumentException("Bookmark already exists");
-        }
-    
         Bookmark bookmark = new Bookmark(title, url, user);
-        return bookmarkRepository.save(bookmark);
+
+        // The unique content hash decides; only a rejected insert costs a lookup
+        try {
+            return bookmarkRepository.saveAndFlush(bookmark);
+        } catch (DataIntegrityViolationException e) {
+            if (bookmarkRepository.existsByContentHash(Bookmark.contentHashOf(user.getId(), title, url))) {
+                throw new IllegalArgumentException("Bookmark already exists");
+            }
+            throw e;
+        }
     }
 
     /**
-     * Retrieve all bookmarks for a user.
+     * Retrieve one page of a user's bookmarks, oldest first.
      * @param user The user whose bookmarks should be fetched.
-     * @return List of bookmarks.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit The requested page size, capped at the configured maximum.
+     * @return The page, with the cursor for the next one if there is more.
+     * @throws IllegalArgumentException if the cursor or the limit is invalid.
      */
-    public List<Bookmark> getUserBookmarks(User user) {
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
-            throw new RuntimeException("User not found");
+    @Transactional(readOnly = true)
+    public BookmarkPage getUserBookmarks(User user, String cursor, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Limit must be a positive number.");
+        }
+
+        // One extra row tells whether another page follows, without a count query
+        Limit fetch = Limit.of(pageSize + 1);
+        List<BookmarkView> bookmarks;
+        if (cursor == null) {
+            bookmarks = bookmarkRepository.findFirstPage(user, fetch);
+        } else {
+            BookmarkCursor after = BookmarkCursor.decode(cursor);
+            bookmarks = bookmarkRepository.findPageAfter(user, after.createdAt(), after.id(), fetch);
         }
-        return bookmarkRepository.findByUser(user);
+
+        if (bookmarks.size() <= pageSize) {
+            return new BookmarkPage(bookmarks, null);
+        }
+        List<BookmarkView> page = bookmarks.subList(0, pageSize);
+        BookmarkView last = page.get(pageSize - 1);
+        return new BookmarkPage(page, new BookmarkCursor(last.createdAt(), last.id()).encode());
     }
 
     /**
@@ -71,16 +107,10 @@ public class BookmarkService {
      * Fetch a bookmark by ID for a specific user.
      * @param id The ID of the bookmark.
      * @param user The authenticated user.
-     * @return Optional containing the bookmark if found.
+     * @return Optional containing the bookmark if found and owned by the user.
      */
-    public Optional<Bookmark> getBookmarkByIdAndUser(Long id, User user) {
-        if (bookmarkRepository.findById(id).isPresent()){
-            throw new RuntimeException("Bookmark not found");
-        }
-
-        if (userRepository.findByEmail(user.getEmail()).isPresent()){
-            throw new RuntimeException("User not found");
-        }
-        return bookmarkRepository.findByIdAndUser(id, user);
+    @Transactional(readOnly = true)
+    public Optional<BookmarkView> getBookmarkByIdAndUser(Long id, User user) {
+        return bookmarkRepository.findViewByIdAndUser(id, user);
     }
 }
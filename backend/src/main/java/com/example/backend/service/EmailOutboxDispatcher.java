@@ -0,0 +1,247 @@
+package com.example.backend.service;
+
+import com.example.backend.model.EmailOutboxMessage;
+import com.example.backend.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends the emails queued in the outbox, in the background.
+ * Each run claims a batch of due messages (rows locked by another node are skipped, and
+ * claimed rows are leased so no other node picks them up), sends the whole batch over one
+ * SMTP connection, deletes what was accepted and schedules the rest for a retry with
+ * exponential backoff. Messages that keep failing are marked {@code FAILED} and kept for
+ * inspection until {@code email.outbox.failed-retention} has passed.
+ *
+ * <p>Password reset emails get their link, and a new reset token, only when they are sent,
+ * so the token is never stored in the outbox. Each attempt revokes the token issued for the
+ * attempt before it, so retries do not pile up live tokens.
+ */
+@Service
+@ConditionalOnProperty(name = "email.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Duration failedRetention;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Timer deliveryTimer;
+    private final Counter sendFailures;
+    private final Counter abandoned;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 JavaMailSender mailSender,
+                                 UserService userService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${email.outbox.lease:5m}") Duration lease,
+                                 @Value("${email.outbox.backoff:30s}") Duration backoff,
+                                 @Value("${email.outbox.max-backoff:1h}") Duration maxBackoff,
+                                 @Value("${email.outbox.failed-retention:7d}") Duration failedRetention,
+                                 MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.userService = userService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.failedRetention = failedRetention;
+
+        Gauge.builder("email.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age in seconds of the oldest email picked up by the last dispatch run")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("email.outbox.delivery")
+                .description("Time from queueing an email to the SMTP server accepting it")
+                .register(meterRegistry);
+        this.sendFailures = Counter.builder("email.outbox.send.failures")
+                .description("Email send attempts that failed and will be retried")
+                .register(meterRegistry);
+        this.abandoned = Counter.builder("email.outbox.abandoned")
+                .description("Emails given up on after the maximum number of attempts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends due emails until none are left or a batch comes back short.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval:1000}")
+    public void dispatch() {
+        List<EmailOutboxMessage> batch;
+        do {
+            batch = claimBatch();
+            lagMillis.set(batch.isEmpty() ? 0
+                    : Duration.between(batch.get(0).getCreatedAt(), Instant.now()).toMillis());
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Deletes messages that were given up on more than {@code email.outbox.failed-retention} ago.
+     * Sent messages need no sweep: they are deleted as soon as the SMTP server accepts them.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.purge-interval:3600000}")
+    public void purgeFailed() {
+        Instant cutoff = Instant.now().minus(failedRetention);
+        Integer deleted = transactionTemplate.execute(status -> emailOutboxRepository.deleteFailedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            logger.info("Purged {} failed emails queued before {}", deleted, cutoff);
+        }
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<EmailOutboxMessage> due = emailOutboxRepository.lockDue(now, PageRequest.of(0, batchSize));
+            // Lease the batch: if this node dies mid-send, the messages become due again later
+            due.forEach(message -> message.setNextAttemptAt(now.plus(lease)));
+            return due;
+        });
+    }
+
+    private void send(List<EmailOutboxMessage> batch) {
+        List<Long> sent = new ArrayList<>();
+        List<EmailOutboxMessage> retries = new ArrayList<>();
+        Instant now = Instant.now();
+
+        List<EmailOutboxMessage> sendable = new ArrayList<>();
+        List<MimeMessage> mails = new ArrayList<>();
+        for (EmailOutboxMessage message : batch) {
+            try {
+                mails.add(toMailMessage(message));
+                sendable.add(message);
+            } catch (IllegalArgumentException ex) {
+                giveUp(message, ex); // The user is gone, so there is nothing to send
+                retries.add(message);
+            } catch (RuntimeException ex) {
+                scheduleRetry(message, ex, now);
+                retries.add(message);
+            }
+        }
+
+        // Keyed by outbox ID: two messages with the same recipient and text are still told apart
+        Map<Long, Exception> failed = new HashMap<>();
+        if (!mails.isEmpty()) {
+            try {
+                mailSender.send(mails.toArray(MimeMessage[]::new)); // One connection for the whole batch
+            } catch (MailSendException ex) {
+                // MimeMessage has identity equality, so each failure maps back to exactly one message
+                Map<Object, Exception> failedMessages = ex.getFailedMessages();
+                for (int i = 0; i < sendable.size(); i++) {
+                    Exception error = failedMessages.isEmpty() ? ex : failedMessages.get(mails.get(i));
+                    if (error != null) {
+                        failed.put(sendable.get(i).getId(), error);
+                    }
+                }
+            } catch (MailException ex) {
+                sendable.forEach(message -> failed.put(message.getId(), ex));
+            }
+        }
+
+        now = Instant.now();
+        for (EmailOutboxMessage message : sendable) {
+            Exception error = failed.get(message.getId());
+            if (error == null) {
+                sent.add(message.getId());
+                deliveryTimer.record(Duration.between(message.getCreatedAt(), now));
+            } else {
+                scheduleRetry(message, error, now);
+                retries.add(message);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            emailOutboxRepository.deleteAllByIdInBatch(sent);
+            emailOutboxRepository.saveAll(retries);
+        });
+    }
+
+    private void scheduleRetry(EmailOutboxMessage message, Exception error, Instant now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(String.valueOf(error.getMessage()), 1000));
+
+        if (attempts >= maxAttempts) {
+            giveUp(message, error);
+            return;
+        }
+
+        long delay = backoff.toMillis() << Math.min(attempts - 1, 20);
+        message.setNextAttemptAt(now.plusMillis(Math.min(delay, maxBackoff.toMillis())));
+        sendFailures.increment();
+        logger.warn("Sending email {} failed (attempt {}), will retry: {}", message.getId(), attempts, error.getMessage());
+    }
+
+    private void giveUp(EmailOutboxMessage message, Exception error) {
+        message.setStatus(EmailOutboxMessage.Status.FAILED);
+        message.setLastError(truncate(String.valueOf(error.getMessage()), 1000));
+        abandoned.increment();
+        logger.error("Giving up on email {} to {} after {} attempts", message.getId(), message.getRecipient(),
+                message.getAttempts(), error);
+    }
+
+    private MimeMessage toMailMessage(EmailOutboxMessage message) {
+        String body = message.getBody();
+        if (message.getType() == EmailOutboxMessage.Type.PASSWORD_RESET) {
+            // Issued now rather than at queue time, so the outbox never holds a usable token;
+            // a retry revokes the token issued for the failed attempt
+            body = body.replace(EmailOutboxMessage.RESET_LINK, userService.issuePasswordResetLink(message));
+        }
+
+        MimeMessage mail = mailSender.createMimeMessage();
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(mail);
+            helper.setTo(message.getRecipient());
+            helper.setSubject(message.getSubject());
+            helper.setText(body);
+        } catch (MessagingException ex) {
+            throw new MailPreparationException(ex);
+        }
+        return mail;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
@@ -1,45 +1,44 @@
 package com.example.backend.service;
 
+import com.example.backend.model.EmailOutboxMessage;
+import com.example.backend.repository.EmailOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service to handle email-related functionalities.
+ * Emails are not sent here: they are written to the outbox, in the caller's transaction if
+ * there is one, and sent in the background by {@link EmailOutboxDispatcher}.
  */
 @Service
 public class EmailService {
 
     @Autowired
-    private JavaMailSender mailSender; // Spring MailSender
+    private EmailOutboxRepository emailOutboxRepository;
 
     /**
-     * Sends a password reset email.
+     * Queues a password reset email. The link, and the token in it, are issued by
+     * {@link EmailOutboxDispatcher} when the email is sent, so no usable token is ever stored
+     * in the outbox.
      * 
-     * @param recipientEmail The email to send the reset link to.
-     * @param resetLink The password reset link.
+     * @param recipientEmail The email of the user to send a reset link to.
      */
-    public void sendResetEmail(String recipientEmail, String resetLink) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(recipientEmail);
-        message.setSubject("Password Reset Request");
-        message.setText("Click the link below to reset your password:\n" + resetLink);
-
-        mailSender.send(message); // Send email
+    @Transactional
+    public void sendResetEmail(String recipientEmail) {
+        emailOutboxRepository.save(new EmailOutboxMessage(recipientEmail, "Password Reset Request",
+                "Click the link below to reset your password:\n" + EmailOutboxMessage.RESET_LINK,
+                EmailOutboxMessage.Type.PASSWORD_RESET));
     }
 
     /**
-     * Sends a confirmation email after a successful password reset.
+     * Queues a confirmation email after a successful password reset.
      * 
      * @param recipientEmail The email to send confirmation to.
      */
+    @Transactional
     public void sendConfirmationEmail(String recipientEmail) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(recipientEmail);
-        message.setSubject("Password Reset Successful");
-        message.setText("Your password has been successfully reset. If you did not perform this action, contact support.");
-
-        mailSender.send(message); // Send email
+        emailOutboxRepository.save(new EmailOutboxMessage(recipientEmail, "Password Reset Successful",
+                "Your password has been successfully reset. If you did not perform this action, contact support."));
     }
 }
@@ -0,0 +1,96 @@
+package com.example.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+
+/**
+ * Moves every entity's ID sequence past the IDs already in its table, once at startup.
+ * Tables created before the move from IDENTITY columns to pooled sequences already hold IDs
+ * that a newly created sequence (or, on MySQL, sequence table) would hand out again. Each
+ * sequence is raised to at least {@code max(id) + allocationSize}, never lowered.
+ *
+ * <p>Runs once all singletons exist, after the schema update and before the web server
+ * accepts requests, so no ID has been allocated yet.
+ */
+@Service
+@ConditionalOnProperty(name = "ids.sequence-seeder.enabled", havingValue = "true", matchIfMissing = true)
+public class IdSequenceSeeder implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceSeeder.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceSeeder(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        seed();
+    }
+
+    /**
+     * Raises the sequence of every sequence-generated entity above the IDs in its table.
+     *
+     * @return The number of sequences raised.
+     */
+    public int seed() {
+        int[] raised = {0};
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                    && persister instanceof AbstractEntityPersister entityPersister
+                    && entityPersister.getSuperMappingType() == null) {
+                if (seed(entityPersister.getTableName(), entityPersister.getIdentifierColumnNames()[0],
+                        generator.getDatabaseStructure())) {
+                    raised[0]++;
+                }
+            }
+        });
+        return raised[0];
+    }
+
+    private boolean seed(String table, String idColumn, DatabaseStructure structure) {
+        Long maxId = jdbcTemplate.queryForObject("select max(" + idColumn + ") from " + table, Long.class);
+        if (maxId == null) {
+            return false;
+        }
+        long floor = maxId + structure.getIncrementSize();
+
+        JdbcEnvironment environment = sessionFactory.getJdbcServices().getJdbcEnvironment();
+        Dialect dialect = environment.getDialect();
+        String sequence = environment.getQualifiedObjectNameFormatter().format(structure.getPhysicalName(), dialect);
+
+        boolean raised;
+        if (structure.isPhysicalSequence()) {
+            // Reading the next value uses one up, which only leaves a harmless gap
+            Long next = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+            raised = next != null && next < floor;
+            if (raised) {
+                jdbcTemplate.execute("alter sequence " + sequence + " restart with " + floor);
+            }
+        } else {
+            // Table emulation (MySQL): a single row holding the next value
+            raised = jdbcTemplate.update("update " + sequence + " set next_val = ? where next_val < ?", floor, floor) > 0;
+        }
+
+        if (raised) {
+            logger.info("Raised ID sequence {} to {}, past the IDs already in {}", sequence, floor, table);
+        }
+        return raised;
+    }
+}
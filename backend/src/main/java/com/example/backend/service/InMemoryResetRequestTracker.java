@@ -0,0 +1,33 @@
+package com.example.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Node-local reset request tracker. Entries expire one interval after the request that
+ * created them and the number of tracked emails is capped, so memory stays bounded.
+ */
+@Component
+@ConditionalOnProperty(name = "security.password-reset.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryResetRequestTracker implements ResetRequestTracker {
+
+    private final Cache<String, Boolean> recentRequests;
+
+    public InMemoryResetRequestTracker(@Value("${security.password-reset.rate-limit.interval:1m}") Duration interval,
+                                       @Value("${security.password-reset.rate-limit.max-tracked:100000}") long maxTracked) {
+        this.recentRequests = Caffeine.newBuilder()
+                .expireAfterWrite(interval)
+                .maximumSize(maxTracked)
+                .build();
+    }
+
+    @Override
+    public boolean tryAcquire(String email) {
+        return recentRequests.asMap().putIfAbsent(email, Boolean.TRUE) == null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.PasswordResetTokenState;
+import com.example.backend.model.PasswordResetToken;
+import com.example.backend.model.User;
+import com.example.backend.repository.PasswordResetTokenRepository;
+import com.example.backend.security.TokenDigests;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Reset token store backed by the {@code password_reset_token} table. Expired rows are
+ * removed by {@link PasswordResetTokenSweeper}.
+ */
+@Component
+@ConditionalOnProperty(name = "password-reset.token-store", havingValue = "jpa", matchIfMissing = true)
+public class JpaPasswordResetTokenStore implements PasswordResetTokenStore {
+
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+
+    public JpaPasswordResetTokenStore(PasswordResetTokenRepository passwordResetTokenRepository) {
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+    }
+
+    @Override
+    public void save(String token, User user, Duration ttl) {
+        passwordResetTokenRepository.save(new PasswordResetToken(TokenDigests.sha256(token), user,
+                LocalDateTime.now().plus(ttl)));
+    }
+
+    /**
+     * Consumes the token in two statements: a lookup through the unique index, then a delete that
+     * only succeeds if the token is still there and unexpired. One conditional DELETE cannot do
+     * it alone on MySQL, which has no {@code DELETE ... RETURNING} to hand back the user ID, and
+     * the lookup is also what tells an expired token apart from an unknown one. The delete still
+     * decides the race: of several concurrent requests with the same token, only one succeeds.
+     */
+    @Override
+    @Transactional
+    public Long consume(String token) {
+        Optional<PasswordResetTokenState> resetTokenOpt =
+                passwordResetTokenRepository.findStateByTokenHash(TokenDigests.sha256(token));
+        if (resetTokenOpt.isEmpty()) {
+            throw new IllegalArgumentException("Invalid or expired token.");
+        }
+
+        PasswordResetTokenState resetToken = resetTokenOpt.get();
+
+        // Check if the token is expired (the sweeper deletes it)
+        if (resetToken.expiryDate().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Token has expired.");
+        }
+
+        // Consume the token; if a concurrent request got there first, this one fails
+        if (passwordResetTokenRepository.consume(resetToken.id(), LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("Invalid or expired token.");
+        }
+
+        return resetToken.userId();
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String tokenHash) {
+        passwordResetTokenRepository.deleteByTokenHash(tokenHash);
+    }
+}
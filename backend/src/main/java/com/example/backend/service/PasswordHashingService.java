@@ -0,0 +1,218 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.ServerBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and verification on a dedicated, bounded worker pool.
+ * The pool has one thread per core and a bounded queue, so a burst of logins can use at most
+ * the CPU the pool owns and never ties up more than the queue's worth of request threads.
+ * When the queue is full the call fails fast with {@link ServerBusyException}.
+ *
+ * <p>Bulk jobs such as the user import hash through {@link #encodeAll(List)}, which keeps at
+ * most {@code security.password-hashing.batch-parallelism} tasks on the pool at a time, so
+ * logins always find free workers and queue slots while a job runs.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final long BATCH_BACKOFF_MILLIS = 10;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore batchPermits;
+    private final long retryAfterSeconds;
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${security.password-hashing.threads:0}") int threads,
+                                  @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.password-hashing.retry-after:1s}") Duration retryAfter,
+                                  @Value("${security.password-hashing.batch-parallelism:0}") int batchParallelism,
+                                  MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // By default bulk jobs get half the workers, and never all of them
+        this.batchPermits = new Semaphore(batchParallelism > 0 ? batchParallelism : Math.max(poolSize / 2, 1));
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = Math.max(retryAfter.toSeconds(), 1);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hashing.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks running")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hashing.wait")
+                .description("Time password hashing tasks spent queued")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashing tasks shed because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hashes a raw password on the hashing pool.
+     *
+     * @param rawPassword The password to hash.
+     * @return The encoded password.
+     * @throws ServerBusyException if the pool's queue is full.
+     */
+    public String encode(String rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Verifies a raw password against a stored hash on the hashing pool.
+     *
+     * @param rawPassword The password to check.
+     * @param encodedPassword The stored hash.
+     * @return True if the password matches.
+     * @throws ServerBusyException if the pool's queue is full.
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hashes raw passwords for a bulk job. Waits for a share of the pool instead of failing
+     * when it is busy: at most {@code security.password-hashing.batch-parallelism} hashes, across
+     * all bulk jobs, are on the pool at once, and when logins have filled the queue the job
+     * backs off until they have been served.
+     *
+     * @param rawPasswords The passwords to hash.
+     * @return The encoded passwords, in the same order.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Future<String>> hashes = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String rawPassword : rawPasswords) {
+                batchPermits.acquire();
+                try {
+                    hashes.add(submitBatchTask(rawPassword));
+                } catch (InterruptedException | RuntimeException e) {
+                    batchPermits.release(); // Nothing was submitted to give it back
+                    throw e;
+                }
+            }
+
+            List<String> encoded = new ArrayList<>(hashes.size());
+            for (Future<String> hash : hashes) {
+                encoded.add(hash.get());
+            }
+            return encoded;
+        } catch (InterruptedException e) {
+            // Tasks already submitted finish on their own and give their permits back
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Whether a stored hash was made with older or weaker settings than the current ones.
+     * Cheap; does not hash anything.
+     *
+     * @param encodedPassword The stored hash.
+     * @return True if the password should be rehashed the next time it is known.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private Future<String> submitBatchTask(String rawPassword) throws InterruptedException {
+        long queuedAt = System.nanoTime();
+        while (true) {
+            try {
+                return executor.submit(() -> {
+                    try {
+                        waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                        return encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword));
+                    } finally {
+                        batchPermits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                if (executor.isShutdown()) {
+                    throw new IllegalStateException("Password hashing has shut down.", e);
+                }
+                // Logins have filled the queue; they go first
+                Thread.sleep(BATCH_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServerBusyException("Server is busy. Try again later.", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed.", e.getCause());
+        }
+    }
+}
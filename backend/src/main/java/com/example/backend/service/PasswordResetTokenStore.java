@@ -0,0 +1,36 @@
+package com.example.backend.service;
+
+import com.example.backend.model.User;
+
+import java.time.Duration;
+
+/**
+ * Stores single-use password reset tokens. Implementations keep only a digest of each token.
+ */
+public interface PasswordResetTokenStore {
+
+    /**
+     * Stores a new token for the user.
+     *
+     * @param token The token sent to the user.
+     * @param user The user the token is issued to.
+     * @param ttl How long the token stays valid.
+     */
+    void save(String token, User user, Duration ttl);
+
+    /**
+     * Validates a token and consumes it, atomically, so it can be used only once.
+     *
+     * @param token The token presented by the user.
+     * @return The ID of the user the token was issued to.
+     * @throws IllegalArgumentException if the token is unknown, already used or expired.
+     */
+    Long consume(String token);
+
+    /**
+     * Deletes a token that will never be used, if it still exists.
+     *
+     * @param tokenHash The digest of the token, as computed by {@code TokenDigests.sha256}.
+     */
+    void revoke(String tokenHash);
+}
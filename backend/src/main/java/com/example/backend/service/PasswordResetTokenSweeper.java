@@ -0,0 +1,63 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.PasswordResetTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes expired password reset tokens in the background. Rows are deleted in small chunks,
+ * each in its own transaction, so a large backlog never holds locks for long.
+ */
+@Service
+@ConditionalOnProperty(name = "password-reset.token-store", havingValue = "jpa", matchIfMissing = true)
+public class PasswordResetTokenSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordResetTokenSweeper.class);
+
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public PasswordResetTokenSweeper(PasswordResetTokenRepository passwordResetTokenRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${password-reset.sweep.chunk-size:500}") int chunkSize) {
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Deletes every token that has expired.
+     *
+     * @return The number of tokens deleted.
+     */
+    @Scheduled(fixedDelayString = "${password-reset.sweep.interval:600000}", initialDelayString = "${password-reset.sweep.interval:600000}")
+    public int sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = passwordResetTokenRepository.findExpiredIds(now, PageRequest.of(0, chunkSize));
+                passwordResetTokenRepository.deleteAllByIdInBatch(ids);
+                return ids.size();
+            });
+            deleted += chunk;
+        } while (chunk == chunkSize);
+
+        if (deleted > 0) {
+            logger.info("Deleted {} expired password reset tokens", deleted);
+        }
+        return deleted;
+    }
+}
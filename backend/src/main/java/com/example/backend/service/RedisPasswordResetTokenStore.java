@@ -0,0 +1,55 @@
+package com.example.backend.service;
+
+import com.example.backend.model.User;
+import com.example.backend.security.TokenDigests;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reset token store backed by Redis. Each token is a key ({@code auth:reset:<sha256>}) holding
+ * the user ID, with the token's lifetime as TTL, so Redis expires it without any sweeping.
+ */
+@Component
+@ConditionalOnProperty(name = "password-reset.token-store", havingValue = "redis")
+public class RedisPasswordResetTokenStore implements PasswordResetTokenStore {
+
+    private static final String KEY_PREFIX = "auth:reset:";
+
+    // GET and DEL in one step (GETDEL needs Redis 6.2)
+    private static final RedisScript<String> GET_AND_DELETE = new DefaultRedisScript<>(
+            "local value = redis.call('GET', KEYS[1]) " +
+            "if value then redis.call('DEL', KEYS[1]) end " +
+            "return value",
+            String.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisPasswordResetTokenStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void save(String token, User user, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + TokenDigests.sha256(token), String.valueOf(user.getId()), ttl);
+    }
+
+    @Override
+    public Long consume(String token) {
+        String userId = redisTemplate.execute(GET_AND_DELETE, List.of(KEY_PREFIX + TokenDigests.sha256(token)));
+        if (userId == null) {
+            throw new IllegalArgumentException("Invalid or expired token.");
+        }
+        return Long.valueOf(userId);
+    }
+
+    @Override
+    public void revoke(String tokenHash) {
+        redisTemplate.delete(KEY_PREFIX + tokenHash);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cluster-wide reset request tracker. Each request sets {@code auth:reset:req:<email>} with
+ * SET NX PX, so the throttle holds across nodes and Redis expires the entries on its own.
+ */
+@Component
+@ConditionalOnProperty(name = "security.password-reset.rate-limit.store", havingValue = "redis")
+public class RedisResetRequestTracker implements ResetRequestTracker {
+
+    private static final String KEY_PREFIX = "auth:reset:req:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration interval;
+
+    public RedisResetRequestTracker(StringRedisTemplate redisTemplate,
+                                    @Value("${security.password-reset.rate-limit.interval:1m}") Duration interval) {
+        this.redisTemplate = redisTemplate;
+        this.interval = interval;
+    }
+
+    @Override
+    public boolean tryAcquire(String email) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + email, "1", interval));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.backend.service;
+
+/**
+ * Tracks password reset requests so each email can request at most one reset per interval.
+ * Implementations must be safe to call from concurrent request threads.
+ */
+public interface ResetRequestTracker {
+
+    /**
+     * Records a reset request for the email unless one was already recorded within the interval.
+     *
+     * @param email The normalized email address.
+     * @return True if the request may proceed, false if it is too soon after the previous one.
+     */
+    boolean tryAcquire(String email);
+}
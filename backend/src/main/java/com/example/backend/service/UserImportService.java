@@ -0,0 +1,322 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.UserImportReport;
+import com.example.backend.dto.UserImportResult;
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service for importing users in bulk from CSV or NDJSON.
+ * The upload is read as a stream and processed in chunks. For each chunk, rows are validated
+ * with the same rules as registration, checked for duplicates against the file and the
+ * database in one query, hashed in parallel on the shared {@link PasswordHashingService} pool
+ * (within its share for bulk jobs, so logins keep running), and inserted with JDBC batches in
+ * one transaction.
+ */
+@Service
+public class UserImportService {
+
+    /**
+     * Supported upload formats.
+     */
+    public enum Format {
+        CSV, // Header row naming the username, email and password columns
+        NDJSON // One JSON object per line with username, email and password
+    }
+
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+    private static final List<String> FIELD_ORDER = List.of("username", "email", "password");
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordHashingService passwordHashingService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public UserImportService(UserRepository userRepository,
+                             EntityManager entityManager,
+                             NamedParameterJdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PasswordHashingService passwordHashingService,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             @Value("${users.import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordHashingService = passwordHashingService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports users from an uploaded file.
+     *
+     * @param body The upload.
+     * @param format The format of the upload.
+     * @return The outcome of every row.
+     * @throws IOException if the upload cannot be read.
+     * @throws IllegalArgumentException if a CSV upload has no usable header row.
+     */
+    public UserImportReport importUsers(InputStream body, Format format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<UserImportResult> results = new ArrayList<>();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        Map<String, Integer> columns = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && columns == null) {
+                columns = parseHeader(line);
+                continue;
+            }
+
+            chunk.add(format == Format.CSV ? parseCsvRow(lineNumber, line, columns) : parseJsonRow(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, seenUsernames, seenEmails, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, seenUsernames, seenEmails, results);
+        }
+
+        int created = (int) results.stream().filter(result -> result.message() == null).count();
+        return new UserImportReport(created, results.size() - created, results);
+    }
+
+    private void importChunk(List<ImportRow> chunk, Set<String> seenUsernames, Set<String> seenEmails,
+                             List<UserImportResult> results) {
+        for (ImportRow row : chunk) {
+            validate(row, seenUsernames, seenEmails);
+        }
+        rejectExisting(chunk);
+
+        List<ImportRow> accepted = chunk.stream().filter(row -> row.error == null).toList();
+        hashPasswords(accepted);
+        insert(accepted);
+
+        for (ImportRow row : chunk) {
+            results.add(row.error == null
+                    ? UserImportResult.created(row.line, row.username)
+                    : UserImportResult.failed(row.line, row.username, row.error));
+        }
+    }
+
+    private void validate(ImportRow row, Set<String> seenUsernames, Set<String> seenEmails) {
+        if (row.error != null) {
+            return;
+        }
+
+        User user = new User();
+        user.setUsername(row.username);
+        user.setEmail(row.email);
+        user.setPassword(row.password);
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (!violations.isEmpty()) {
+            row.error = violations.stream()
+                    .min(Comparator.comparingInt(violation -> FIELD_ORDER.indexOf(violation.getPropertyPath().toString())))
+                    .get().getMessage();
+            return;
+        }
+
+        row.username = row.username.toLowerCase().trim();
+        row.email = row.email.toLowerCase().trim();
+        if (!seenUsernames.add(row.username)) {
+            row.error = "Username appears more than once in the import.";
+        } else if (!seenEmails.add(row.email)) {
+            row.error = "Email appears more than once in the import.";
+        }
+    }
+
+    private void rejectExisting(List<ImportRow> chunk) {
+        List<String> usernames = chunk.stream().filter(row -> row.error == null).map(row -> row.username).toList();
+        if (usernames.isEmpty()) {
+            return;
+        }
+        List<String> emails = chunk.stream().filter(row -> row.error == null).map(row -> row.email).toList();
+
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        jdbcTemplate.query("select username, email from users where username in (:usernames) or email in (:emails)",
+                new MapSqlParameterSource("usernames", usernames).addValue("emails", emails),
+                rs -> {
+                    takenUsernames.add(rs.getString("username"));
+                    takenEmails.add(rs.getString("email"));
+                });
+
+        for (ImportRow row : chunk) {
+            if (row.error != null) {
+                continue;
+            }
+            if (takenUsernames.contains(row.username)) {
+                row.error = "Username is already taken.";
+            } else if (takenEmails.contains(row.email)) {
+                row.error = "Email is already in use.";
+            }
+        }
+    }
+
+    private void hashPasswords(List<ImportRow> rows) {
+        List<String> hashes = passwordHashingService.encodeAll(rows.stream().map(row -> row.password).toList());
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).password = hashes.get(i);
+        }
+    }
+
+    private void insert(List<ImportRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(rows));
+        } catch (DataIntegrityViolationException e) {
+            // Someone registered one of these users since the check; find out which, row by row
+            for (ImportRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertBatch(List.of(row)));
+                } catch (DataIntegrityViolationException rowError) {
+                    row.error = "Username or email is already in use.";
+                }
+            }
+        }
+    }
+
+    private void insertBatch(List<ImportRow> rows) {
+        List<User> users = rows.stream().map(row -> {
+            User user = new User();
+            user.setUsername(row.username);
+            user.setEmail(row.email);
+            user.setPassword(row.password);
+            user.getRoles().add(DEFAULT_ROLE);
+            return user;
+        }).toList();
+
+        // IDs come from a pooled sequence, so Hibernate sends the users and their roles in JDBC batches
+        userRepository.saveAll(users);
+        userRepository.flush();
+        // The request may keep one persistence context open throughout; don't let it collect every chunk
+        entityManager.clear();
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        List<String> header = parseCsvFields(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(), i);
+        }
+        if (!columns.keySet().containsAll(FIELD_ORDER)) {
+            throw new IllegalArgumentException("CSV header must contain username, email and password columns.");
+        }
+        return columns;
+    }
+
+    private static ImportRow parseCsvRow(long line, String text, Map<String, Integer> columns) {
+        List<String> fields = parseCsvFields(text);
+        ImportRow row = new ImportRow(line);
+        row.username = field(fields, columns.get("username"));
+        row.email = field(fields, columns.get("email"));
+        row.password = field(fields, columns.get("password"));
+        return row;
+    }
+
+    private ImportRow parseJsonRow(long line, String text) {
+        ImportRow row = new ImportRow(line);
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            row.username = node.path("username").textValue();
+            row.email = node.path("email").textValue();
+            row.password = node.path("password").textValue();
+        } catch (IOException e) {
+            row.error = "Malformed JSON.";
+        }
+        return row;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    /**
+     * Splits one CSV line into fields (RFC 4180 quoting, without line breaks inside fields).
+     */
+    private static List<String> parseCsvFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * One row of the upload as it moves through validation, hashing and insertion.
+     */
+    private static final class ImportRow {
+        private final long line;
+        private String username;
+        private String email;
+        private String password; // Raw until hashed
+        private String error;
+
+        private ImportRow(long line) {
+            this.line = line;
+        }
+    }
+}
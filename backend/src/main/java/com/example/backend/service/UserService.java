@@ -1,22 +1,28 @@
 package com.example.backend.service;
 
-import com.example.backend.model.PasswordResetToken;
+import com.example.backend.config.CacheNames;
+import com.example.backend.model.EmailOutboxMessage;
 import com.example.backend.model.User;
-import com.example.backend.repository.PasswordResetTokenRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.security.TokenDigests;
+import com.example.backend.security.TokenEpochService;
+import com.example.backend.security.UserSecurityStateCache;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
@@ -32,15 +38,31 @@ public class UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordResetTokenRepository tokenRepository;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordResetTokenStore passwordResetTokenStore;
 
     @Autowired
-    private PasswordResetTokenRepository passwordResetTokenRepository;
+    private UserSecurityStateCache userSecurityStateCache;
 
-    private final Map<String, LocalDateTime> resetRequestTracker = new HashMap<>();
+    @Autowired
+    private TokenEpochService tokenEpochService;
+
+    @Autowired
+    private ResetRequestTracker resetRequestTracker;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${BASE_URL:}")
+    private String baseUrl;
+
+    @Value("${password-reset.token-ttl:30m}")
+    private Duration resetTokenTtl;
 
 
     /**
@@ -51,18 +73,25 @@ public class UserService {
      * @throws IllegalArgumentException if the username or email is already taken
      */
     public User registerUser(User user) {
-        if (userRepository.findByUsername(user.getUsername()).isPresent()) {
-            throw new IllegalArgumentException("Username is already taken.");
-        }
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
-            throw new IllegalArgumentException("Email is already in use.");
-        }
-
         user.setUsername(user.getUsername().toLowerCase().trim());
         user.setEmail(user.getEmail().toLowerCase().trim());
-        user.setPassword(passwordEncoder.encode(user.getPassword())); // Encrypt the password
+        user.setPassword(passwordHashingService.encode(user.getPassword())); // Encrypt the password
         user.getRoles().add("ROLE_USER"); // Assign default role
-        return userRepository.save(user); // Save the user in the database
+
+        // Nothing to evict: lookups of a user that does not exist yet throw and are never cached
+        // The unique constraints decide; only a rejected insert costs a lookup for the message
+        try {
+            return userRepository.saveAndFlush(user); // Save the user in the database
+        } catch (DataIntegrityViolationException e) {
+            List<String> taken = userRepository.findUsernamesByUsernameOrEmail(user.getUsername(), user.getEmail());
+            if (taken.contains(user.getUsername())) {
+                throw new IllegalArgumentException("Username is already taken.");
+            }
+            if (!taken.isEmpty()) {
+                throw new IllegalArgumentException("Email is already in use.");
+            }
+            throw e;
+        }
     }
 
     /**
@@ -72,6 +101,7 @@ public class UserService {
      * @return the user entity
      * @throws RuntimeException if the user is not found
      */
+    @Cacheable(cacheNames = CacheNames.USERS_BY_USERNAME, sync = true)
     public User findByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
@@ -101,13 +131,14 @@ public class UserService {
      * @return The user entity if found.
      * @throws RuntimeException If the user is not found.
      */
+    @Cacheable(cacheNames = CacheNames.USERS_BY_ID, sync = true)
     public User findById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + id));
     }
 
     public String encodePassword(String rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+        return passwordHashingService.encode(rawPassword);
     }
     
     /**
@@ -118,10 +149,24 @@ public class UserService {
      * @return The updated user.
      */
     public User updateUser(Long id, Map<String, Object> updates, boolean isAdmin) {
-        return userRepository.findById(id)
-            .map(user -> applyUpdates(user, updates, isAdmin))
-            .map(userRepository::save)
+        User updated = userRepository.findById(id)
+            .map(user -> {
+                String previousUsername = user.getUsername();
+                int previousVersion = user.getSecurityVersion();
+                User saved = userRepository.save(applyUpdates(user, updates, isAdmin));
+                evictCachedUser(id, previousUsername);
+                if (!Objects.equals(previousUsername, user.getUsername())) {
+                    evictCachedUser(id, user.getUsername());
+                }
+                // Password and role changes, and renames, end every session issued under the old identity
+                if (user.getSecurityVersion() != previousVersion || !Objects.equals(previousUsername, user.getUsername())) {
+                    tokenEpochService.revokeAllTokens(previousUsername);
+                }
+                return saved;
+            })
             .orElse(null);
+        userSecurityStateCache.evict(id);
+        return updated;
     }
     
     /**
@@ -138,10 +183,12 @@ public class UserService {
                     break;
                 case "password":
                     user.setPassword(validatePassword(value.toString()));
+                    bumpSecurityVersion(user);
                     break;
                 case "roles":
                     if (isAdmin) {
                         user.setRoles(convertRoles(value));
+                        bumpSecurityVersion(user);
                     }
                     break;
             }
@@ -150,10 +197,34 @@ public class UserService {
     }
     
     /**
-     * Validates the new username.
+     * Drops one user's entries from the user caches, leaving every other user's cached.
+     */
+    private void evictCachedUser(Long id, String username) {
+        evict(CacheNames.USERS_BY_ID, id);
+        evict(CacheNames.USERS_BY_USERNAME, username);
+        evict(CacheNames.USER_DETAILS, username);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    /**
+     * Invalidates the claims of every token issued to the user so far.
+     */
+    private void bumpSecurityVersion(User user) {
+        user.setSecurityVersion(user.getSecurityVersion() + 1);
+    }
+
+    /**
+     * Normalizes and validates the new username, the same way registration does.
      */
     private String validateUsername(String newUsername, String currentUsername) {
-        if (newUsername.trim().isEmpty()) {
+        newUsername = newUsername.toLowerCase().trim();
+        if (newUsername.isEmpty()) {
             throw new IllegalArgumentException("Username cannot be empty");
         }
         if (newUsername.length() > 255) {
@@ -166,9 +237,10 @@ public class UserService {
     }
     
     /**
-     * Validates the new email.
+     * Normalizes and validates the new email, the same way registration does.
      */
     private String validateEmail(String newEmail, String currentEmail) {
+        newEmail = newEmail.toLowerCase().trim();
         if (!newEmail.matches("^[\\w.-]+@[\\w.-]+\\.[a-zA-Z]{2,}$")) {
             throw new IllegalArgumentException("Invalid email format");
         }
@@ -224,27 +296,74 @@ public class UserService {
         }
     
         try {
+            // Revoke sessions before deleting: if Redis is down nothing has changed yet, and a
+            // delete that fails afterwards has only logged the user out
+            tokenEpochService.revokeAllTokens(userToDelete.getUsername());
             userRepository.deleteById(id);
-            return true;
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete user due to an internal error.");
         }
+        evictCachedUser(id, userToDelete.getUsername());
+        userSecurityStateCache.evict(id);
+        return true;
     }
 
     /**
-     * Generates a password reset token for the user.
+     * Queues a password reset email for the user with this email. The token is not created
+     * here but by {@link #issuePasswordResetLink(EmailOutboxMessage)} when the email is sent.
      */
-    public String generatePasswordResetToken(String email) {
+    @Transactional
+    public void requestPasswordReset(String email) {
         Optional<User> userOptional = userRepository.findByEmail(email);
         if (userOptional.isEmpty()) {
             throw new IllegalArgumentException("No user found with this email.");
         }
 
-        User user = userOptional.get();
-        String token = UUID.randomUUID().toString();
-        PasswordResetToken resetToken = new PasswordResetToken(token, user, LocalDateTime.now().plusMinutes(30));
+        emailService.sendResetEmail(userOptional.get().getEmail());
+    }
+
+    /**
+     * Generates a password reset token for the user with this email and returns the reset link
+     * carrying it. Called by the outbox dispatcher right before the reset email goes out, so the
+     * token only ever exists in the email and, as a digest, in the token store.
+     *
+     * @param email The email of the user.
+     * @return The reset link.
+     * @throws IllegalArgumentException if the user no longer exists.
+     */
+    @Transactional
+    public String issuePasswordResetLink(String email) {
+        return baseUrl + "/api/auth/reset-password?token=" + issuePasswordResetToken(email);
+    }
 
-        tokenRepository.save(resetToken);
+    /**
+     * Generates the reset link for a queued password reset email. A retry of the same email
+     * first revokes the token issued for the previous attempt, so each queued email has at most
+     * one live token however often sending it fails. The new token's digest is recorded on the
+     * message for the next attempt.
+     *
+     * @param message The password reset email about to be sent.
+     * @return The reset link.
+     * @throws IllegalArgumentException if the user no longer exists.
+     */
+    @Transactional
+    public String issuePasswordResetLink(EmailOutboxMessage message) {
+        if (message.getResetTokenHash() != null) {
+            passwordResetTokenStore.revoke(message.getResetTokenHash());
+            message.setResetTokenHash(null);
+        }
+
+        String token = issuePasswordResetToken(message.getRecipient());
+        message.setResetTokenHash(TokenDigests.sha256(token));
+        return baseUrl + "/api/auth/reset-password?token=" + token;
+    }
+
+    private String issuePasswordResetToken(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("No user found with this email."));
+
+        String token = UUID.randomUUID().toString();
+        passwordResetTokenStore.save(token, user, resetTokenTtl);
         return token;
     }
 
@@ -267,7 +386,25 @@ public class UserService {
         User user = optionalUser.get();
 
         user.setPassword(encodedPassword);
+        bumpSecurityVersion(user);
         userRepository.save(user);
+        evictCachedUser(user.getId(), user.getUsername());
+        userSecurityStateCache.evict(user.getId());
+        tokenEpochService.revokeAllTokens(user.getUsername());
+    }
+
+    /**
+     * Rehashes a user's password with the current hashing settings after a successful login.
+     * The password itself is unchanged, so sessions stay valid. Skipped if the stored hash
+     * changed since the user was loaded.
+     *
+     * @param user        The user who just logged in.
+     * @param rawPassword The password they logged in with.
+     */
+    @Transactional
+    public void rehashPassword(User user, String rawPassword) {
+        userRepository.replacePassword(user.getId(), user.getPassword(), passwordHashingService.encode(rawPassword));
+        evictCachedUser(user.getId(), user.getUsername());
     }
 
     /**
@@ -278,40 +415,25 @@ public class UserService {
      * @throws IllegalArgumentException if the token is invalid or expired.
      */
     public String validatePasswordResetToken(String token) {
-        Optional<PasswordResetToken> resetTokenOpt = passwordResetTokenRepository.findByToken(token);
-        
-        if (resetTokenOpt.isEmpty()) {
+        if (token == null || token.isEmpty()) {
             throw new IllegalArgumentException("Invalid or expired token.");
         }
 
-        PasswordResetToken resetToken = resetTokenOpt.get();
-
-        // Check if the token is expired
-        if (resetToken.getExpiryDate().isBefore(LocalDateTime.now())) {
-            passwordResetTokenRepository.delete(resetToken); // Delete expired token
-            throw new IllegalArgumentException("Token has expired.");
-        }
-
-        String email = resetToken.getUser().getEmail();
-
-        // Delete the token immediately after validation
-        passwordResetTokenRepository.delete(resetToken);
-
-        return email;
+        Long userId = passwordResetTokenStore.consume(token);
+        return userRepository.findById(userId)
+                .map(User::getEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid or expired token."));
     }
 
+    /**
+     * Checks whether a password reset for the email was already requested within the
+     * rate-limit interval, and records this request if not.
+     *
+     * @param email The email the reset is requested for.
+     * @return True if the request is too soon after the previous one.
+     */
     public boolean isSpamRequest(String email) {
-        LocalDateTime now = LocalDateTime.now();
-
-        if (resetRequestTracker.containsKey(email)) {
-            LocalDateTime lastRequestTime = resetRequestTracker.get(email);
-            if (ChronoUnit.MINUTES.between(lastRequestTime, now) < 1) {
-                return true; // Spam detected (multiple requests within 1 min)
-            }
-        }
-
-        resetRequestTracker.put(email, now);
-        return false;
+        return !resetRequestTracker.tryAcquire(email.toLowerCase().trim());
     }
 
     // private void validatePassword(String newPassword) {
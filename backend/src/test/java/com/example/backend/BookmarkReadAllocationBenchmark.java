@@ -0,0 +1,160 @@
+package com.example.backend;
+
+import com.example.backend.dto.BookmarkView;
+import com.example.backend.model.Bookmark;
+import com.example.backend.model.User;
+import com.example.backend.repository.BookmarkRepository;
+import com.example.backend.repository.PasswordResetTokenRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Measures heap allocated per bookmark read, loading entities versus selecting {@link BookmarkView}s.
+ * Only runs when asked for: {@code mvn test -Dtest=BookmarkReadAllocationBenchmark -Dbenchmark=true}.
+ * Every measured step runs on the calling thread (MockMvc included), so the thread's allocation
+ * counter covers the whole read and its serialization.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"bookmarks.page.default-size=200", "bookmarks.page.max-size=200"})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class BookmarkReadAllocationBenchmark {
+
+    private static final int BOOKMARKS = 200;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        bookmarkRepository.deleteAllInBatch();
+        passwordResetTokenRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        owner = userRepository.save(new User("benchreader", "benchreader@example.com", "{noop}Password@123", Set.of("USER")));
+        List<Bookmark> bookmarks = new ArrayList<>();
+        for (int i = 0; i < BOOKMARKS; i++) {
+            bookmarks.add(new Bookmark("Bookmark " + i, "https://example.com/images/" + i + ".jpg", owner));
+        }
+        bookmarkRepository.saveAll(bookmarks);
+    }
+
+    /**
+     * One page of 200 bookmarks read and serialized: managed entities in a read-write transaction
+     * (the old read path) versus views selected by the repository.
+     */
+    @Test
+    void benchmarkPageRead() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long entityBytes = allocatedPerCall(() -> transactionTemplate.execute(status -> {
+            List<Bookmark> page = entityManager
+                    .createQuery("select b from Bookmark b where b.user = :user order by b.createdAt, b.id", Bookmark.class)
+                    .setParameter("user", owner)
+                    .setMaxResults(BOOKMARKS + 1)
+                    .getResultList();
+            return serialize(page);
+        }));
+
+        transactionTemplate.setReadOnly(true);
+        long viewBytes = allocatedPerCall(() -> transactionTemplate.execute(status ->
+                serialize(bookmarkRepository.findFirstPage(owner, Limit.of(BOOKMARKS + 1)))));
+
+        System.out.printf("page of %d, entities: %d KB allocated per read%n", BOOKMARKS, entityBytes / 1024);
+        System.out.printf("page of %d, views:    %d KB allocated per read%n", BOOKMARKS, viewBytes / 1024);
+    }
+
+    /**
+     * Whole GET /api/bookmarks and GET /api/bookmarks/{id} requests, security filter chain included.
+     */
+    @Test
+    void benchmarkRequests() throws Exception {
+        String authorization = "Bearer " + jwtUtils.generateToken("benchreader", 86400000, "USER");
+        Long id = bookmarkRepository.findFirstPage(owner, Limit.of(1)).get(0).id();
+
+        long listBytes = allocatedPerCall(() -> mockMvc.perform(get("/api/bookmarks")
+                .header(HttpHeaders.AUTHORIZATION, authorization)).andExpect(status().isOk()));
+        long byIdBytes = allocatedPerCall(() -> mockMvc.perform(get("/api/bookmarks/" + id)
+                .header(HttpHeaders.AUTHORIZATION, authorization)).andExpect(status().isOk()));
+
+        System.out.printf("GET /api/bookmarks (%d items): %d KB allocated per request%n", BOOKMARKS, listBytes / 1024);
+        System.out.printf("GET /api/bookmarks/{id}: %d KB allocated per request%n", byIdBytes / 1024);
+    }
+
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long allocatedPerCall(Callable<?> call) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            call.call();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.call();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.backend;
+
+import com.example.backend.model.Bookmark;
+import com.example.backend.model.User;
+import com.example.backend.repository.BookmarkRepository;
+import com.example.backend.repository.PasswordResetTokenRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.BookmarkImportService;
+import com.example.backend.service.UserImportService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures insert throughput with and without Hibernate JDBC batching, and of the bulk imports.
+ * Only runs when asked for: {@code mvn test -Dtest=InsertThroughputBenchmark -Dbenchmark=true}.
+ * The in-memory test database has no network round trips, so the gain against a real
+ * database server is larger than what this reports.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class InsertThroughputBenchmark {
+
+    private static final int ROWS = 5000;
+    private static final int WARMUP_ROUNDS = 2;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private BookmarkImportService bookmarkImportService;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        clean();
+    }
+
+    /**
+     * Bookmark saves: one INSERT per round trip versus batches of 50.
+     */
+    @Test
+    void benchmarkBookmarkSaves() {
+        User owner = userRepository.save(newUser("benchowner"));
+
+        compare("bookmark saves", batchSize -> transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            User user = entityManager.getReference(User.class, owner.getId());
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(new Bookmark("Bookmark " + i, "https://example.com/" + i, user));
+            }
+            entityManager.flush();
+        }), () -> bookmarkRepository.deleteAllInBatch());
+    }
+
+    /**
+     * User inserts as done by the bulk import: users and their roles, unbatched versus batches of 50.
+     */
+    @Test
+    void benchmarkUserInserts() {
+        compare("user inserts", batchSize -> transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(newUser("bench" + i));
+            }
+            entityManager.flush();
+        }), this::clean);
+    }
+
+    /**
+     * End to end bulk import with the configured batch size, hashing included.
+     */
+    @Test
+    void benchmarkUserImport() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            ndjson.append("{\"username\": \"import").append(i).append("\", \"email\": \"import").append(i)
+                    .append("@example.com\", \"password\": \"Password@123\"}\n");
+        }
+        byte[] body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        int created = userImportService.importUsers(new ByteArrayInputStream(body), UserImportService.Format.NDJSON).created();
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(ROWS, created);
+        System.out.printf("user import: %d rows in %d ms (%.0f rows/s)%n",
+                ROWS, elapsed / 1_000_000, ROWS / (elapsed / 1e9));
+    }
+
+    /**
+     * End to end bulk bookmark import of 100k entries, duplicate checks included.
+     */
+    @Test
+    void benchmarkBookmarkImport() throws Exception {
+        User owner = userRepository.save(newUser("benchimporter"));
+        int entries = 100_000;
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < entries; i++) {
+            ndjson.append("{\"title\": \"Bookmark ").append(i).append("\", \"url\": \"https://example.com/images/")
+                    .append(i).append(".jpg\"}\n");
+        }
+        byte[] body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        int created = bookmarkImportService.importBookmarks(owner, new ByteArrayInputStream(body),
+                BookmarkImportService.Format.NDJSON).created();
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(entries, created);
+        System.out.printf("bookmark import: %d entries in %d ms (%.0f entries/s)%n",
+                entries, elapsed / 1_000_000, entries / (elapsed / 1e9));
+    }
+
+    private void compare(String name, IntConsumer insert, Runnable cleanUp) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            insert.accept(1);
+            cleanUp.run();
+            insert.accept(50);
+            cleanUp.run();
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (int batchSize : new int[] {1, 50}) {
+            long start = System.nanoTime();
+            insert.accept(batchSize);
+            long elapsed = System.nanoTime() - start;
+            cleanUp.run();
+            lines.add(String.format("%s, batch size %d: %d rows in %d ms (%.0f rows/s)",
+                    name, batchSize, ROWS, elapsed / 1_000_000, ROWS / (elapsed / 1e9)));
+        }
+        lines.forEach(System.out::println);
+    }
+
+    private void clean() {
+        passwordResetTokenRepository.deleteAll();
+        bookmarkRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    private static User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("{noop}Password@123");
+        user.getRoles().add("ROLE_USER");
+        return user;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.backend;
+
+import com.example.backend.security.JwtUtils;
+import com.example.backend.security.VerifiedTokenCache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures JWT verification cost per request: the old filter's three parses versus one.
+ * Only runs when asked for: {@code mvn test -Dtest=JwtVerificationBenchmark -Dbenchmark=true}.
+ * The parse helpers bypass the verified token cache, so every call computes the signature.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class JwtVerificationBenchmark {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * validateToken, extractUsername and the inline claims parse of the old filter versus a single
+     * parse, and versus verifyToken answered from the verified token cache.
+     */
+    @Test
+    void benchmarkVerifyPerRequest() {
+        String token = jwtUtils.generateToken("benchuser", 86400000, "ROLE_USER");
+
+        long threeParses = nanosPerCall(() -> {
+            jwtUtils.extractExpiration(token);
+            jwtUtils.extractUsername(token);
+            return jwtUtils.extractUsername(token);
+        });
+        long oneParse = nanosPerCall(() -> jwtUtils.extractUsername(token));
+        long uncachedVerify = nanosPerCall(() -> {
+            verifiedTokenCache.invalidate(token);
+            return jwtUtils.verifyToken(token).orElseThrow().getSubject();
+        });
+        long cachedVerify = nanosPerCall(() -> jwtUtils.verifyToken(token).orElseThrow().getSubject());
+
+        System.out.printf("three parses:    %.1f us per request%n", threeParses / 1000.0);
+        System.out.printf("one parse:       %.1f us per request%n", oneParse / 1000.0);
+        System.out.printf("verify, miss:    %.1f us per request%n", uncachedVerify / 1000.0);
+        System.out.printf("verify, hit:     %.1f us per request%n", cachedVerify / 1000.0);
+    }
+
+    private static long nanosPerCall(Supplier<String> call) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals("benchuser", call.get());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.get();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+}
@@ -16,6 +16,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -354,6 +356,35 @@ class AuthControllerLoginTests {
                 .andExpect(status().isOk()); // Adjust based on case-sensitivity rules
     }
 
+    @Test
+    @DisplayName("TC_CORNER_007: Legacy password hash is upgraded on login")
+    void testLoginUpgradesLegacyPasswordHash() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                          "username": "validuser",
+                          "password": "Password@123"
+                        }
+                        """))
+                .andExpect(status().isOk());
+
+        String upgraded = userRepository.findByUsername("validuser").orElseThrow().getPassword();
+        assertTrue(upgraded.startsWith("{bcrypt}$2a$04$"));
+
+        // The upgraded hash still works
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                          "username": "validuser",
+                          "password": "Password@123"
+                        }
+                        """))
+                .andExpect(status().isOk());
+        assertEquals(upgraded, userRepository.findByUsername("validuser").orElseThrow().getPassword());
+    }
+
     // @Test
     // @DisplayName("TC_CORNER_006: Login during database downtime")
     // void testLoginDuringDatabaseDowntime() throws Exception {
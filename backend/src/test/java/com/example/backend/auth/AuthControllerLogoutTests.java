@@ -4,6 +4,8 @@ import com.example.backend.security.JwtBlacklistService;
 import com.example.backend.security.JwtUtils;
 import com.example.backend.security.UserDetailsServiceImpl;
 
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,6 +25,9 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.fail;
@@ -49,6 +55,9 @@ public class AuthControllerLogoutTests {
     @Autowired
     private JwtBlacklistService jwtBlacklistService;
 
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
     private String validToken;
     private String refreshToken;
     private String secondDeviceToken;
@@ -97,7 +106,6 @@ public class AuthControllerLogoutTests {
     @Test
     void testLogoutMultipleTimes() throws Exception {
         String firstDeviceToken = jwtUtils.generateToken("validuser", 86400000, ROLE);
-        String secondDeviceToken = jwtUtils.generateToken("validuser", 86400000, ROLE);
         // First logout attempt should succeed
         mockMvc.perform(post("/api/auth/logout")
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + firstDeviceToken)
@@ -105,16 +113,15 @@ public class AuthControllerLogoutTests {
                 .andExpect(status().isOk())
                 .andExpect(content().string("User logged out successfully."));
 
-        // Second logout attempt should return 401 Unauthorized
+        // Second logout attempt with the same token should return 401 Unauthorized
         mockMvc.perform(post("/api/auth/logout")
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + secondDeviceToken)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + firstDeviceToken)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isUnauthorized())
                 .andExpect(content().json("{\"message\": \"Invalid token.\"}"));
 
         // Explicitly remove the test tokens from blacklist
         jwtBlacklistService.blacklistToken(firstDeviceToken, 1);
-        jwtBlacklistService.blacklistToken(secondDeviceToken, 1);
     }
 
     /**
@@ -148,6 +155,40 @@ public class AuthControllerLogoutTests {
                 .andExpect(status().isUnauthorized());
     }
 
+    /**
+     * TC_POS_005: Logging out of all sessions revokes every token issued to the user so far.
+     */
+    @Test
+    void testLogoutAllSessions() throws Exception {
+        // A session started on another device a minute ago
+        String otherDeviceToken = Jwts.builder()
+                .setId("other-device")
+                .setSubject("validuser")
+                .claim("authorities", List.of(ROLE))
+                .setIssuedAt(new Date(System.currentTimeMillis() - 60000))
+                .setExpiration(new Date(System.currentTimeMillis() + 86400000))
+                .signWith(SignatureAlgorithm.HS256, jwtUtils.getSecret())
+                .compact();
+
+        mockMvc.perform(post("/api/auth/logout-all")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + validToken)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string("User logged out of all sessions."));
+
+        mockMvc.perform(post("/api/auth/logout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + otherDeviceToken)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().json("{\"message\": \"Invalid token.\"}"));
+
+        mockMvc.perform(post("/api/auth/logout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + validToken)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().json("{\"message\": \"Invalid token.\"}"));
+    }
+
     /**
      * TC_NEG_001: No authentication token provided.
      */
@@ -233,6 +274,32 @@ public class AuthControllerLogoutTests {
                 .andExpect(content().json("{\"message\": \"Invalid token.\"}"));
     }
 
+    /**
+     * TC_NEG_010: Token without an ID that was revoked under the old raw-token key stays revoked.
+     */
+    @Test
+    void testLegacyBlacklistEntryStillRejected() throws Exception {
+        String legacyToken = Jwts.builder()
+                .setSubject("validuser")
+                .claim("authorities", List.of(ROLE))
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86400000))
+                .signWith(SignatureAlgorithm.HS256, jwtUtils.getSecret())
+                .compact();
+
+        // Entry written before blacklist keys were namespaced by token ID
+        redisTemplate.opsForValue().set(legacyToken, "BLACKLISTED", 60, TimeUnit.SECONDS);
+        jwtBlacklistService.rebuildFilter();
+
+        mockMvc.perform(post("/api/auth/logout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + legacyToken)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().json("{\"message\": \"Invalid token.\"}"));
+
+        redisTemplate.delete(legacyToken);
+    }
+
     /**
      * TC_NEG_007: Logout when database is down.
      */
@@ -13,9 +13,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -243,5 +252,40 @@ class AuthControllerRegisterTests {
                 .andExpect(status().isBadRequest());
     }
 
-    
+    @Test
+    @DisplayName("TC_CORNER_002: Parallel duplicate registrations create exactly one user")
+    void testParallelDuplicateRegistrations() throws Exception {
+        int attempts = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<MockHttpServletResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                String payload = "{\"username\": \"raceuser\", \"email\": \"race" + i + "@example.com\", \"password\": \"Password@123\"}";
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/auth/register")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(payload))
+                            .andReturn().getResponse();
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<MockHttpServletResponse> future : futures) {
+                MockHttpServletResponse response = future.get();
+                if (response.getStatus() == 200) {
+                    created++;
+                } else {
+                    assertEquals(409, response.getStatus());
+                    assertEquals("Username is already taken.", response.getContentAsString());
+                }
+            }
+            assertEquals(1, created);
+            assertEquals(1, userRepository.findAll().stream().filter(u -> u.getUsername().equals("raceuser")).count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,104 @@
+package com.example.backend.auth;
+
+import com.example.backend.security.JwtBlacklistService;
+import com.example.backend.security.JwtUtils;
+import com.example.backend.security.UserDetailsServiceImpl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for blacklist lookups with request coalescing and batching enabled.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"jwt.blacklist.batching.enabled=true", "jwt.blacklist.batching.window=1ms"})
+public class BlacklistBatchingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private JwtBlacklistService jwtBlacklistService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    private final String ROLE = "ROLE_USER";
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(userDetailsService.loadUserByUsername("batchuser"))
+            .thenReturn(User.withUsername("batchuser").password("hashed").authorities(ROLE).build());
+    }
+
+    /**
+     * TC_POS_001: A token that was never revoked is accepted.
+     */
+    @Test
+    void testValidTokenAccepted() throws Exception {
+        String token = jwtUtils.generateToken("batchuser", 86400000, ROLE);
+
+        mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound()); // Authenticated; the user only exists as a mock
+    }
+
+    /**
+     * TC_NEG_001: Concurrent requests with a revoked token are all rejected through batched lookups.
+     */
+    @Test
+    void testConcurrentRevokedTokenRejected() throws Exception {
+        String token = jwtUtils.generateToken("batchuser", 86400000, ROLE);
+        jwtBlacklistService.blacklistToken(token, 60000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                statuses.add(executor.submit(() -> mockMvc.perform(get("/api/users/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON))
+                        .andReturn().getResponse().getStatus()));
+            }
+            for (Future<Integer> status : statuses) {
+                assertEquals(401, status.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(meterRegistry.get("jwt.blacklist.batch.size").summary().count() > 0);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.backend.auth;
+
+import com.example.backend.security.JwtBlacklistService;
+import com.example.backend.security.JwtUtils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that a blacklist lookup never waits longer than the batching timeout.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "jwt.blacklist.batching.enabled=true",
+    "jwt.blacklist.batching.window=5s", // Batches are held far longer than callers wait
+    "jwt.blacklist.batching.timeout=50ms"
+})
+public class BlacklistBatchingTimeoutTests {
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private JwtBlacklistService jwtBlacklistService;
+
+    /**
+     * TC_CORNER_001: A lookup whose batch is late is answered by a direct Redis check.
+     */
+    @Test
+    void testLateBatchFallsBackToDirectLookup() {
+        String token = jwtUtils.generateToken("batchuser", 86400000, "ROLE_USER");
+        jwtBlacklistService.blacklistToken(token, 60000);
+
+        long start = System.nanoTime();
+        boolean blacklisted = jwtBlacklistService.isTokenBlacklisted(token);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(blacklisted);
+        assertTrue(elapsedMs < 2000, "lookup took " + elapsedMs + " ms");
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.backend.auth;
+
+import com.example.backend.dto.UserSecurityState;
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtUtils;
+import com.example.backend.security.UserDetailsServiceImpl;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for claims-only authentication (jwt.authentication-mode=claims).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "jwt.authentication-mode=claims")
+public class ClaimsAuthenticationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    private final String USER_ROLE = "USER";
+
+    private User mockUser(Long id, String username, int securityVersion) {
+        User user = new User(id, username, username + "@example.com", "hashed", new HashSet<>(Set.of(USER_ROLE)));
+        user.setSecurityVersion(securityVersion);
+        Mockito.when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        return user;
+    }
+
+    /**
+     * TC_POS_001: Token with identity claims authenticates without loading the user.
+     */
+    @Test
+    void testClaimsTokenSkipsUserLookup() throws Exception {
+        User user = mockUser(31L, "claimsuser", 0);
+        Mockito.when(userRepository.findSecurityStateById(31L)).thenReturn(Optional.of(new UserSecurityState(31L, 0, true)));
+
+        String token = jwtUtils.generateToken(user, 86400000);
+
+        mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("claimsuser"));
+
+        Mockito.verify(userDetailsService, Mockito.never()).loadUserByUsername(Mockito.anyString());
+    }
+
+    /**
+     * TC_POS_002: Legacy token without identity claims falls back to loading the user.
+     */
+    @Test
+    void testLegacyTokenFallsBackToUserLookup() throws Exception {
+        mockUser(32L, "legacyuser", 0);
+        Mockito.when(userDetailsService.loadUserByUsername("legacyuser"))
+            .thenReturn(org.springframework.security.core.userdetails.User.withUsername("legacyuser")
+                .password("hashed")
+                .roles(USER_ROLE)
+                .build());
+
+        String token = jwtUtils.generateToken("legacyuser", 86400000, USER_ROLE);
+
+        mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("legacyuser"));
+
+        Mockito.verify(userDetailsService).loadUserByUsername("legacyuser");
+    }
+
+    /**
+     * TC_NEG_001: Token issued before a password or role change is rejected.
+     */
+    @Test
+    void testStaleSecurityVersionRejected() throws Exception {
+        User user = mockUser(33L, "staleuser", 0);
+        String token = jwtUtils.generateToken(user, 86400000);
+
+        // The user's password was changed after the token was issued
+        Mockito.when(userRepository.findSecurityStateById(33L)).thenReturn(Optional.of(new UserSecurityState(33L, 1, true)));
+
+        mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid token."));
+    }
+
+    /**
+     * TC_NEG_002: Token from a deleted user is rejected.
+     */
+    @Test
+    void testDeletedUserRejected() throws Exception {
+        User user = mockUser(34L, "goneuser", 0);
+        String token = jwtUtils.generateToken(user, 86400000);
+
+        Mockito.when(userRepository.findSecurityStateById(34L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("User no longer exists."));
+    }
+
+    /**
+     * TC_NEG_003: Token from a user disabled after it was issued is rejected.
+     */
+    @Test
+    void testDisabledUserRejected() throws Exception {
+        User user = mockUser(35L, "disableduser", 0);
+        String token = jwtUtils.generateToken(user, 86400000);
+
+        // The account was disabled after the token was issued, without a security version bump
+        Mockito.when(userRepository.findSecurityStateById(35L)).thenReturn(Optional.of(new UserSecurityState(35L, 0, false)));
+
+        mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Account is disabled."));
+    }
+}
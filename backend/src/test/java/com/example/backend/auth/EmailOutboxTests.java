@@ -0,0 +1,249 @@
+package com.example.backend.auth;
+
+import com.example.backend.model.EmailOutboxMessage;
+import com.example.backend.model.User;
+import com.example.backend.repository.EmailOutboxRepository;
+import com.example.backend.repository.PasswordResetTokenRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.EmailOutboxDispatcher;
+import com.example.backend.service.EmailService;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for queueing emails in the outbox and sending them in the background.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EmailOutboxTests {
+
+    private static final SmtpStandIn smtp;
+
+    static {
+        try {
+            smtp = new SmtpStandIn();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", smtp::getPort);
+        registry.add("spring.mail.username", () -> "");
+        registry.add("spring.mail.password", () -> "");
+        registry.add("spring.mail.properties.mail.smtp.auth", () -> "false");
+        registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+        registry.add("spring.mail.properties.mail.from", () -> "no-reply@example.com");
+        registry.add("email.outbox.dispatcher.enabled", () -> "true");
+        registry.add("email.outbox.poll-interval", () -> "3600000"); // Tests dispatch by hand
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxRepository.deleteAll();
+        passwordResetTokenRepository.deleteAll();
+        userRepository.deleteAll();
+        smtp.reset();
+
+        User user = new User();
+        user.setUsername("outboxuser");
+        user.setPassword(passwordEncoder.encode("Password@123"));
+        user.setEmail("outboxuser@example.com");
+        user.getRoles().add("USER");
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordResetTokenRepository.deleteAll();
+        emailOutboxRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void stopSmtp() throws IOException {
+        smtp.close();
+    }
+
+    /**
+     * TC_POS_001: A reset request queues the email without a token, and the dispatcher issues one when sending it.
+     */
+    @Test
+    void testResetEmailQueuedAndSent() throws Exception {
+        mockMvc.perform(post("/api/auth/forgot-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"outboxuser@example.com\"}"))
+                .andExpect(status().isOk());
+
+        // Nothing is sent on the request thread, and no token exists yet
+        assertEquals(1, emailOutboxRepository.count());
+        assertFalse(emailOutboxRepository.findAll().get(0).getBody().contains("token="));
+        assertEquals(0, passwordResetTokenRepository.count());
+        assertTrue(smtp.getMessages().isEmpty());
+
+        emailOutboxDispatcher.dispatch();
+
+        assertEquals(0, emailOutboxRepository.count());
+        assertEquals(1, passwordResetTokenRepository.count());
+        assertEquals(1, smtp.getMessages().size());
+        assertEquals("outboxuser@example.com", smtp.getMessages().get(0).recipient());
+
+        Matcher link = Pattern.compile("/api/auth/reset-password\\?token=([0-9a-f-]{36})")
+                .matcher(smtp.getMessages().get(0).data());
+        assertTrue(link.find());
+        mockMvc.perform(post("/api/auth/reset-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"token\": \"" + link.group(1) + "\", \"newPassword\": \"NewPassword@123\"}"))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * TC_POS_002: A batch of emails is sent over a single SMTP connection.
+     */
+    @Test
+    void testBatchSentOverOneConnection() {
+        for (int i = 0; i < 5; i++) {
+            emailService.sendConfirmationEmail("user" + i + "@example.com");
+        }
+
+        emailOutboxDispatcher.dispatch();
+
+        assertEquals(5, smtp.getMessages().size());
+        assertEquals(1, smtp.getConnections());
+        assertEquals(0, emailOutboxRepository.count());
+    }
+
+    /**
+     * TC_NEG_001: A rejected email stays queued for a later retry while the rest of the batch is sent.
+     */
+    @Test
+    void testRejectedEmailRetriedLater() {
+        smtp.reject("bounce@example.com");
+        emailService.sendConfirmationEmail("bounce@example.com");
+        emailService.sendConfirmationEmail("fine@example.com");
+
+        emailOutboxDispatcher.dispatch();
+
+        assertEquals(1, smtp.getMessages().size());
+        List<EmailOutboxMessage> remaining = emailOutboxRepository.findAll();
+        assertEquals(1, remaining.size());
+        EmailOutboxMessage retry = remaining.get(0);
+        assertEquals("bounce@example.com", retry.getRecipient());
+        assertEquals(EmailOutboxMessage.Status.PENDING, retry.getStatus());
+        assertEquals(1, retry.getAttempts());
+        assertTrue(retry.getNextAttemptAt().isAfter(Instant.now()));
+
+        // Not due yet, so the next run leaves it alone
+        emailOutboxDispatcher.dispatch();
+        assertEquals(1, emailOutboxRepository.findAll().get(0).getAttempts());
+    }
+
+    /**
+     * TC_NEG_002: A retried reset email replaces the token issued for the failed attempt.
+     */
+    @Test
+    void testRetriedResetEmailReplacesToken() {
+        smtp.reject("outboxuser@example.com");
+        emailService.sendResetEmail("outboxuser@example.com");
+
+        emailOutboxDispatcher.dispatch();
+
+        assertTrue(smtp.getMessages().isEmpty());
+        assertEquals(1, passwordResetTokenRepository.count());
+        EmailOutboxMessage retry = emailOutboxRepository.findAll().get(0);
+        assertNotNull(retry.getResetTokenHash());
+
+        smtp.reset();
+        retry.setNextAttemptAt(Instant.now());
+        emailOutboxRepository.save(retry);
+        emailOutboxDispatcher.dispatch();
+
+        assertEquals(1, smtp.getMessages().size());
+        assertEquals(0, emailOutboxRepository.count());
+        assertEquals(1, passwordResetTokenRepository.count());
+        assertNotEquals(retry.getResetTokenHash(), passwordResetTokenRepository.findAll().get(0).getTokenHash());
+    }
+
+    /**
+     * TC_NEG_003: A reset email for a user deleted since the request is given up on without a token being issued.
+     */
+    @Test
+    void testResetEmailForDeletedUserGivenUp() {
+        emailService.sendResetEmail("outboxuser@example.com");
+        userRepository.deleteAll();
+
+        emailOutboxDispatcher.dispatch();
+
+        assertTrue(smtp.getMessages().isEmpty());
+        assertEquals(0, passwordResetTokenRepository.count());
+        assertEquals(EmailOutboxMessage.Status.FAILED, emailOutboxRepository.findAll().get(0).getStatus());
+    }
+
+    /**
+     * TC_CORNER_001: Only failed emails older than the retention period are purged.
+     */
+    @Test
+    void testOldFailedEmailsPurged() {
+        Instant longAgo = Instant.now().minus(Duration.ofDays(8));
+        EmailOutboxMessage oldFailed = new EmailOutboxMessage("old@example.com", "Subject", "Body");
+        oldFailed.setStatus(EmailOutboxMessage.Status.FAILED);
+        oldFailed.setCreatedAt(longAgo);
+        EmailOutboxMessage recentFailed = new EmailOutboxMessage("recent@example.com", "Subject", "Body");
+        recentFailed.setStatus(EmailOutboxMessage.Status.FAILED);
+        EmailOutboxMessage oldPending = new EmailOutboxMessage("pending@example.com", "Subject", "Body");
+        oldPending.setCreatedAt(longAgo);
+        oldPending.setNextAttemptAt(Instant.now().plus(Duration.ofDays(1)));
+        emailOutboxRepository.saveAll(List.of(oldFailed, recentFailed, oldPending));
+
+        emailOutboxDispatcher.purgeFailed();
+
+        assertEquals(List.of("pending@example.com", "recent@example.com"), emailOutboxRepository.findAll().stream()
+                .map(EmailOutboxMessage::getRecipient).sorted().toList());
+    }
+}
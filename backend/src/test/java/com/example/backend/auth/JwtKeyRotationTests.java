@@ -0,0 +1,143 @@
+package com.example.backend.auth;
+
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtUtils;
+import com.example.backend.security.UserDetailsServiceImpl;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for signing with a rotated ES256 key while tokens from the previous key stay valid.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "jwt.keys.es1.algorithm=ES256",
+    "jwt.keys.es1.private-key=MIGHAgEAMBMGByqGSM49AgEGCCqGSM49AwEHBG0wawIBAQQgPGO6VxKQCHyBQ+HFwsHvOKo0TDDTMEaMEKqaL/uuFKahRANCAASuhVSYlgOQohBJ+eVUfhItayfZeOG0sbjFB6bqVOVLnSZRE1/I4+9D1nsi6F0qu805AUOjTTh2k/oLnQCckC/5",
+    "jwt.keys.es1.public-key=MFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAEroVUmJYDkKIQSfnlVH4SLWsn2XjhtLG4xQem6lTlS50mURNfyOPvQ9Z7IuhdKrvNOQFDo004dpP6C50AnJAv+Q==",
+    "jwt.active-key-id=es1"
+})
+public class JwtKeyRotationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    private final String ROLE = "ROLE_USER";
+
+    @BeforeEach
+    void setUp() {
+        User user = new User(41L, "rotateduser", "rotateduser@example.com", "hashed", new HashSet<>(Set.of(ROLE)));
+        Mockito.when(userRepository.findByUsername("rotateduser")).thenReturn(Optional.of(user));
+        Mockito.when(userDetailsService.loadUserByUsername("rotateduser"))
+            .thenReturn(org.springframework.security.core.userdetails.User.withUsername("rotateduser")
+                .password("hashed")
+                .authorities(ROLE)
+                .build());
+    }
+
+    private String tokenSignedWithPreviousKey(String keyId) {
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyId)
+                .setSubject("rotateduser")
+                .claim("authorities", List.of(ROLE))
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86400000))
+                .signWith(SignatureAlgorithm.HS256, jwtUtils.getSecret())
+                .compact();
+    }
+
+    /**
+     * TC_POS_001: New tokens are signed with the active key and name it in the kid header.
+     */
+    @Test
+    void testTokenSignedWithActiveKey() throws Exception {
+        String token = jwtUtils.generateToken("rotateduser", 86400000, ROLE);
+        String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+
+        assertTrue(header.contains("\"kid\":\"es1\""));
+        assertTrue(header.contains("\"alg\":\"ES256\""));
+
+        mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("rotateduser"));
+    }
+
+    /**
+     * TC_POS_002: Tokens signed with the previous key, with or without a kid, are still accepted.
+     */
+    @Test
+    void testPreviousKeyStillAccepted() throws Exception {
+        mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenSignedWithPreviousKey("primary"))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenSignedWithPreviousKey(null))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * TC_NEG_001: Token naming an unknown key is rejected.
+     */
+    @Test
+    void testUnknownKeyIdRejected() throws Exception {
+        mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenSignedWithPreviousKey("retired"))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid token."));
+    }
+
+    /**
+     * TC_NEG_002: Token whose algorithm does not match the key it names is rejected.
+     */
+    @Test
+    void testAlgorithmMismatchRejected() throws Exception {
+        mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenSignedWithPreviousKey("es1"))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid token."));
+    }
+}
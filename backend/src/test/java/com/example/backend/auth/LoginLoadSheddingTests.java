@@ -0,0 +1,86 @@
+package com.example.backend.auth;
+
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Tests for shedding login load when the password hashing pool is saturated.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"security.password-hashing.threads=1", "security.password-hashing.queue-capacity=1"})
+public class LoginLoadSheddingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setUsername("busyuser");
+        user.setPassword(passwordEncoder.encode("Password@123"));
+        user.setEmail("busyuser@example.com");
+        user.getRoles().add("USER");
+        userRepository.save(user);
+    }
+
+    /**
+     * TC_CORNER_001: A login burst beyond the pool's capacity is answered with 503 and Retry-After.
+     */
+    @Test
+    void testLoginBurstIsShed() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        try {
+            List<Future<MockHttpServletResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(clients.submit(() -> mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"busyuser\", \"password\": \"Password@123\"}"))
+                        .andReturn().getResponse()));
+            }
+            for (Future<MockHttpServletResponse> future : futures) {
+                responses.add(future.get());
+            }
+        } finally {
+            clients.shutdown();
+        }
+
+        List<MockHttpServletResponse> shed = responses.stream().filter(r -> r.getStatus() == 503).toList();
+        assertTrue(responses.stream().anyMatch(r -> r.getStatus() == 200));
+        assertTrue(!shed.isEmpty());
+        shed.forEach(r -> assertEquals("1", r.getHeader(HttpHeaders.RETRY_AFTER)));
+        assertTrue(responses.stream().allMatch(r -> r.getStatus() == 200 || r.getStatus() == 503));
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.backend.auth;
+
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for throttling failed logins per username and per client IP.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "security.login-throttle.username.max-failures=3",
+        "security.login-throttle.ip.max-failures=5",
+        // MockMvc bypasses Tomcat's RemoteIpValve, so resolve forwarded headers with the servlet filter
+        "server.forward-headers-strategy=framework"
+})
+public class LoginThrottleTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(redisTemplate.keys("auth:login:*"));
+        userRepository.deleteAll();
+
+        for (String username : new String[] {"throttleuser", "resetuser", "ipuser", "windowuser"}) {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(passwordEncoder.encode("Password@123"));
+            user.setEmail(username + "@example.com");
+            user.getRoles().add("USER");
+            userRepository.save(user);
+        }
+    }
+
+    private ResultActions login(String username, String password, String ip) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(ip);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"" + username + "\", \"password\": \"" + password + "\"}"));
+    }
+
+    /**
+     * TC_NEG_001: After too many failures the username is locked out, even with the right password.
+     */
+    @Test
+    void testUsernameLockedOutAfterRepeatedFailures() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            login("throttleuser", "WrongPassword@1", "10.0.0.1").andExpect(status().isUnauthorized());
+        }
+
+        login("throttleuser", "Password@123", "10.0.0.2")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.message").value("Too many failed login attempts. Try again later."));
+    }
+
+    /**
+     * TC_NEG_002: Too many failures from one IP lock the IP out for every username.
+     */
+    @Test
+    void testIpLockedOutAcrossUsernames() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            login("unknown" + i, "WrongPassword@1", "10.0.0.3").andExpect(status().isUnauthorized());
+        }
+
+        login("ipuser", "Password@123", "10.0.0.3").andExpect(status().isTooManyRequests());
+        login("ipuser", "Password@123", "10.0.0.4").andExpect(status().isOk());
+    }
+
+    /**
+     * TC_POS_001: A successful login clears the username's failure count.
+     */
+    @Test
+    void testSuccessfulLoginResetsFailures() throws Exception {
+        for (int round = 0; round < 2; round++) {
+            login("resetuser", "WrongPassword@1", "10.0.0.5").andExpect(status().isUnauthorized());
+            login("resetuser", "WrongPassword@1", "10.0.0.5").andExpect(status().isUnauthorized());
+            login("resetuser", "Password@123", "10.0.0.5").andExpect(status().isOk());
+        }
+    }
+
+    /**
+     * TC_CORNER_001: A locked-out username is rejected before it is looked up, even if it does not exist.
+     */
+    @Test
+    void testLockoutCheckedBeforeUserLookup() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            login("ghostuser", "WrongPassword@1", "10.0.0.6").andExpect(status().isUnauthorized());
+        }
+
+        login("ghostuser", "WrongPassword@1", "10.0.0.7").andExpect(status().isTooManyRequests());
+    }
+
+    /**
+     * TC_CORNER_002: Failures count for one window after they happen, not until a quiet period has passed.
+     */
+    @Test
+    void testOnlyFailuresWithinWindowCount() throws Exception {
+        long now = System.currentTimeMillis();
+        String failures = "auth:login:fail:user:windowuser";
+        redisTemplate.opsForZSet().add(failures, "old-1", now - Duration.ofMinutes(20).toMillis());
+        redisTemplate.opsForZSet().add(failures, "old-2", now - Duration.ofMinutes(16).toMillis());
+
+        // Both earlier failures have slid out of the 15 minute window
+        login("windowuser", "WrongPassword@1", "10.0.0.8").andExpect(status().isUnauthorized());
+        login("windowuser", "Password@123", "10.0.0.8").andExpect(status().isOk());
+
+        redisTemplate.opsForZSet().add(failures, "recent-1", now - Duration.ofMinutes(14).toMillis());
+        redisTemplate.opsForZSet().add(failures, "recent-2", now - Duration.ofMinutes(10).toMillis());
+
+        // Still within the window, so this failure reaches the limit
+        login("windowuser", "WrongPassword@1", "10.0.0.8").andExpect(status().isUnauthorized());
+        login("windowuser", "Password@123", "10.0.0.8").andExpect(status().isTooManyRequests());
+    }
+
+    /**
+     * TC_NEG_003: Behind a proxy, one client's lockout does not lock out other clients of the same proxy.
+     */
+    @Test
+    void testIpLockoutUsesForwardedClientAddress() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            forwardedLogin("unknown" + i, "WrongPassword@1", "203.0.113.1").andExpect(status().isUnauthorized());
+        }
+
+        forwardedLogin("ipuser", "Password@123", "203.0.113.1").andExpect(status().isTooManyRequests());
+        forwardedLogin("ipuser", "Password@123", "203.0.113.2").andExpect(status().isOk());
+    }
+
+    private ResultActions forwardedLogin(String username, String password, String clientIp) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr("10.0.0.10"); // The reverse proxy
+                    return request;
+                })
+                .header("X-Forwarded-For", clientIp)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"" + username + "\", \"password\": \"" + password + "\"}"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.backend.auth;
+
+import com.example.backend.service.PasswordHashingService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for bulk hashing on the password hashing pool.
+ */
+public class PasswordHashingBatchTests {
+
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    // "block" hashes only once released, so tests can fill the pool
+    private final PasswordEncoder encoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if ("block".contentEquals(rawPassword)) {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    };
+
+    private PasswordHashingService service;
+
+    @BeforeEach
+    void setUp() {
+        // One worker, one queue slot, one bulk hash at a time
+        service = new PasswordHashingService(encoder, 1, 1, Duration.ofSeconds(1), 1, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+    }
+
+    /**
+     * TC_POS_001: Bulk hashes come back in order.
+     */
+    @Test
+    void testEncodeAllKeepsOrder() {
+        assertEquals(List.of("hashed:a", "hashed:b", "hashed:c"), service.encodeAll(List.of("a", "b", "c")));
+    }
+
+    /**
+     * TC_CORNER_001: A job interrupted while backing off gives its share of the pool back.
+     */
+    @Test
+    void testInterruptedJobReleasesPermit() throws Exception {
+        // Logins occupy the worker and the queue slot
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("block"));
+        Thread.sleep(100);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("block"));
+        Thread.sleep(100);
+
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread job = new Thread(() -> {
+            try {
+                service.encodeAll(List.of("a"));
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+        job.start();
+        Thread.sleep(100); // Backing off, waiting for the logins
+        job.interrupt();
+        job.join(5000);
+        assertInstanceOf(IllegalStateException.class, failure.get());
+
+        unblock.countDown();
+        running.get();
+        queued.get();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> service.encodeAll(List.of("a", "b")));
+    }
+
+    /**
+     * TC_NEG_001: A job fails instead of retrying forever once the pool has shut down.
+     */
+    @Test
+    void testEncodeAllFailsAfterShutdown() throws Exception {
+        Method shutdown = PasswordHashingService.class.getDeclaredMethod("shutdown"); // The @PreDestroy hook
+        shutdown.setAccessible(true);
+        shutdown.invoke(service);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(IllegalStateException.class, () -> service.encodeAll(List.of("a"))));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.backend.auth;
+
+import com.example.backend.model.User;
+import com.example.backend.repository.PasswordResetTokenRepository;
+import com.example.backend.repository.UserRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for throttling password reset requests (/api/auth/forgot-password) with the Redis store.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "security.password-reset.rate-limit.store=redis")
+public class PasswordResetSpamTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(redisTemplate.keys("auth:reset:req:*"));
+        passwordResetTokenRepository.deleteAll();
+        userRepository.deleteAll();
+
+        for (String username : new String[] {"resetspam", "resetother"}) {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(passwordEncoder.encode("Password@123"));
+            user.setEmail(username + "@example.com");
+            user.getRoles().add("USER");
+            userRepository.save(user);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Reset tokens reference users, so leave none behind for other test classes
+        passwordResetTokenRepository.deleteAll();
+    }
+
+    private ResultActions requestReset(String email) throws Exception {
+        return mockMvc.perform(post("/api/auth/forgot-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\"}"));
+    }
+
+    /**
+     * TC_POS_001: A first reset request is accepted.
+     */
+    @Test
+    void testFirstResetRequestAccepted() throws Exception {
+        requestReset("resetspam@example.com")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Password reset link sent to email."));
+    }
+
+    /**
+     * TC_NEG_001: A second request for the same email within the interval is rejected.
+     */
+    @Test
+    void testRepeatedResetRequestRejected() throws Exception {
+        requestReset("resetspam@example.com").andExpect(status().isOk());
+
+        requestReset(" ResetSpam@example.com ")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.message").value("Too many requests. Try again later."));
+    }
+
+    /**
+     * TC_CORNER_001: Throttling one email does not affect another.
+     */
+    @Test
+    void testThrottleIsPerEmail() throws Exception {
+        requestReset("resetspam@example.com").andExpect(status().isOk());
+        requestReset("resetspam@example.com").andExpect(status().isTooManyRequests());
+
+        requestReset("resetother@example.com").andExpect(status().isOk());
+    }
+}
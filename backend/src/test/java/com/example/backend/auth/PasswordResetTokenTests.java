@@ -0,0 +1,164 @@
+package com.example.backend.auth;
+
+import com.example.backend.model.PasswordResetToken;
+import com.example.backend.model.User;
+import com.example.backend.repository.EmailOutboxRepository;
+import com.example.backend.repository.PasswordResetTokenRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.TokenDigests;
+import com.example.backend.service.PasswordResetTokenSweeper;
+import com.example.backend.service.UserService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for hashed, single-use password reset tokens and the expiry sweeper.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "password-reset.sweep.chunk-size=10")
+public class PasswordResetTokenTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private PasswordResetTokenSweeper passwordResetTokenSweeper;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxRepository.deleteAll();
+        passwordResetTokenRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = new User();
+        user.setUsername("tokenuser");
+        user.setPassword(passwordEncoder.encode("OldPassword@123"));
+        user.setEmail("tokenuser@example.com");
+        user.getRoles().add("USER");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordResetTokenRepository.deleteAll();
+        emailOutboxRepository.deleteAll();
+    }
+
+    private String saveToken(String token, LocalDateTime expiryDate) {
+        passwordResetTokenRepository.save(new PasswordResetToken(TokenDigests.sha256(token), user, expiryDate));
+        return token;
+    }
+
+    private ResultActions resetPassword(String token) throws Exception {
+        return mockMvc.perform(post("/api/auth/reset-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"token\": \"" + token + "\", \"newPassword\": \"NewPassword@123\"}"));
+    }
+
+    /**
+     * TC_POS_001: The emailed token resets the password, and only its digest is stored.
+     */
+    @Test
+    void testEmailedTokenResetsPassword() throws Exception {
+        mockMvc.perform(post("/api/auth/forgot-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"tokenuser@example.com\"}"))
+                .andExpect(status().isOk());
+
+        // Queued without a token; the link is issued when the email is sent
+        String body = emailOutboxRepository.findAll().get(0).getBody();
+        assertFalse(body.contains("token="));
+        assertEquals(0, passwordResetTokenRepository.count());
+
+        String link = userService.issuePasswordResetLink("tokenuser@example.com");
+        String token = link.substring(link.indexOf("token=") + "token=".length());
+
+        PasswordResetToken stored = passwordResetTokenRepository.findAll().get(0);
+        assertEquals(TokenDigests.sha256(token), stored.getTokenHash());
+        assertFalse(link.contains(stored.getTokenHash()));
+
+        resetPassword(token)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Password has been reset successfully."));
+        assertEquals(0, passwordResetTokenRepository.count());
+    }
+
+    /**
+     * TC_NEG_001: A token can only be used once.
+     */
+    @Test
+    void testTokenIsSingleUse() throws Exception {
+        String token = saveToken("single-use-token", LocalDateTime.now().plusMinutes(30));
+
+        resetPassword(token).andExpect(status().isOk());
+        resetPassword(token)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid or expired token."));
+    }
+
+    /**
+     * TC_NEG_002: An expired token is rejected.
+     */
+    @Test
+    void testExpiredTokenRejected() throws Exception {
+        String token = saveToken("expired-token", LocalDateTime.now().minusMinutes(1));
+
+        resetPassword(token)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Token has expired."));
+    }
+
+    /**
+     * TC_CORNER_001: The sweeper deletes every expired token across several chunks and keeps live ones.
+     */
+    @Test
+    void testSweeperDeletesExpiredTokensInChunks() {
+        List<PasswordResetToken> tokens = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            tokens.add(new PasswordResetToken(TokenDigests.sha256("expired-" + i), user, LocalDateTime.now().minusHours(1)));
+        }
+        tokens.add(new PasswordResetToken(TokenDigests.sha256("live"), user, LocalDateTime.now().plusMinutes(30)));
+        passwordResetTokenRepository.saveAll(tokens);
+
+        assertEquals(25, passwordResetTokenSweeper.sweep());
+        assertEquals(1, passwordResetTokenRepository.count());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.backend.auth;
+
+import com.example.backend.model.User;
+import com.example.backend.repository.EmailOutboxRepository;
+import com.example.backend.repository.PasswordResetTokenRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.TokenDigests;
+import com.example.backend.service.UserService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for password reset tokens kept in Redis instead of the database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "password-reset.token-store=redis")
+public class RedisPasswordResetTokenTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxRepository.deleteAll();
+        passwordResetTokenRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setUsername("redisreset");
+        user.setPassword(passwordEncoder.encode("OldPassword@123"));
+        user.setEmail("redisreset@example.com");
+        user.getRoles().add("USER");
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    private String requestToken() throws Exception {
+        mockMvc.perform(post("/api/auth/forgot-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"redisreset@example.com\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, emailOutboxRepository.count());
+        // What the outbox dispatcher does when it sends the email
+        String link = userService.issuePasswordResetLink("redisreset@example.com");
+        return link.substring(link.indexOf("token=") + "token=".length());
+    }
+
+    private ResultActions resetPassword(String token) throws Exception {
+        return mockMvc.perform(post("/api/auth/reset-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"token\": \"" + token + "\", \"newPassword\": \"NewPassword@123\"}"));
+    }
+
+    /**
+     * TC_POS_001: The token is kept in Redis with a TTL, resets the password once, and is then gone.
+     */
+    @Test
+    void testRedisTokenResetsPasswordOnce() throws Exception {
+        String token = requestToken();
+        String key = "auth:reset:" + TokenDigests.sha256(token);
+
+        assertEquals(0, passwordResetTokenRepository.count());
+        Long ttl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
+        assertTrue(ttl > 0 && ttl <= 30 * 60);
+
+        resetPassword(token)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Password has been reset successfully."));
+
+        resetPassword(token)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid or expired token."));
+    }
+
+    /**
+     * TC_NEG_001: An unknown token is rejected.
+     */
+    @Test
+    void testUnknownTokenRejected() throws Exception {
+        resetPassword("not-a-reset-token")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid or expired token."));
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.backend.auth;
+
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the refresh-token flow (/api/auth/login and /api/auth/refresh).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RefreshTokenTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setUsername("refreshuser");
+        user.setPassword(passwordEncoder.encode("Password@123"));
+        user.setEmail("refreshuser@example.com");
+        user.getRoles().add("USER");
+        userRepository.save(user);
+    }
+
+    private JsonNode login() throws Exception {
+        String response = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"refreshuser\", \"password\": \"Password@123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private String refreshBody(String refreshToken) {
+        return "{\"refreshToken\": \"" + refreshToken + "\"}";
+    }
+
+    /**
+     * TC_POS_001: Login returns an access token and a refresh token.
+     */
+    @Test
+    void testLoginReturnsRefreshToken() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"refreshuser\", \"password\": \"Password@123\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty());
+    }
+
+    /**
+     * TC_POS_002: A refresh token is exchanged for a working access token and a new refresh token.
+     */
+    @Test
+    void testRefreshIssuesNewTokens() throws Exception {
+        String refreshToken = login().get("refreshToken").asText();
+
+        String response = mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody(refreshToken)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode tokens = objectMapper.readTree(response);
+
+        assertNotEquals(refreshToken, tokens.get("refreshToken").asText());
+
+        mockMvc.perform(get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, tokens.get("token").asText())
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("refreshuser"));
+    }
+
+    /**
+     * TC_NEG_001: Reusing a consumed refresh token fails and revokes the rotated one too.
+     */
+    @Test
+    void testRefreshTokenReuseRevokesFamily() throws Exception {
+        String refreshToken = login().get("refreshToken").asText();
+
+        String response = mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody(refreshToken)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String rotatedToken = objectMapper.readTree(response).get("refreshToken").asText();
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody(refreshToken)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid or expired refresh token."));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody(rotatedToken)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * TC_NEG_002: Unknown refresh token is rejected.
+     */
+    @Test
+    void testUnknownRefreshTokenRejected() throws Exception {
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody("not-a-refresh-token")))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid or expired refresh token."));
+    }
+
+    /**
+     * TC_NEG_003: Logging out with the refresh token revokes it.
+     */
+    @Test
+    void testLogoutRevokesRefreshToken() throws Exception {
+        JsonNode tokens = login();
+        String refreshToken = tokens.get("refreshToken").asText();
+
+        mockMvc.perform(post("/api/auth/logout")
+                .header(HttpHeaders.AUTHORIZATION, tokens.get("token").asText())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody(refreshToken)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody(refreshToken)))
+                .andExpect(status().isUnauthorized());
+    }
+}
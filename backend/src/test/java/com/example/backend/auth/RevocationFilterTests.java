@@ -0,0 +1,110 @@
+package com.example.backend.auth;
+
+import com.example.backend.security.JwtBlacklistService;
+import com.example.backend.security.JwtUtils;
+import com.example.backend.security.RevocationBloomFilter;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the local revocation filter in front of the Redis blacklist.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class RevocationFilterTests {
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private JwtBlacklistService jwtBlacklistService;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    /**
+     * TC_POS_001: Every recorded identifier is reported as possibly revoked.
+     */
+    @Test
+    void testNoFalseNegatives() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(10_000, 0.01);
+        List<String> ids = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+
+        ids.forEach(filter::put);
+
+        assertTrue(ids.stream().allMatch(filter::mightContain));
+    }
+
+    /**
+     * TC_POS_002: At its expected size the filter stays close to its false-positive rate.
+     */
+    @Test
+    void testFalsePositiveRate() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("never-revoked-" + i))
+                .count();
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives); // 2% against a 1% target
+    }
+
+    /**
+     * TC_POS_003: A rebuild picks up entries written to Redis by others and drops expired ones.
+     */
+    @Test
+    void testRebuildRepopulatesFromRedis() {
+        String token = jwtUtils.generateToken("filteruser", 86400000, "ROLE_USER");
+        String key = "jwt:bl:" + jwtUtils.verifyToken(token).orElseThrow().getTokenId();
+        jwtBlacklistService.rebuildFilter();
+
+        // Written behind the service's back, as if the pub/sub announcement had been missed
+        redisTemplate.opsForValue().set(key, "1", 60, TimeUnit.SECONDS);
+        assertFalse(jwtBlacklistService.isTokenBlacklisted(token)); // The filter has not seen it
+
+        jwtBlacklistService.rebuildFilter();
+        assertTrue(jwtBlacklistService.isTokenBlacklisted(token));
+
+        redisTemplate.delete(key);
+        jwtBlacklistService.rebuildFilter();
+        assertFalse(jwtBlacklistService.isTokenBlacklisted(token));
+    }
+
+    /**
+     * TC_CORNER_001: A token without an ID revoked under the old raw-token key is found without any scan.
+     */
+    @Test
+    void testLegacyEntryFoundWithoutScan() {
+        String legacyToken = Jwts.builder()
+                .setSubject("filteruser")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86400000))
+                .signWith(SignatureAlgorithm.HS256, jwtUtils.getSecret())
+                .compact();
+        jwtBlacklistService.rebuildFilter();
+
+        redisTemplate.opsForValue().set(legacyToken, "BLACKLISTED", 60, TimeUnit.SECONDS);
+        try {
+            assertTrue(jwtBlacklistService.isTokenBlacklisted(legacyToken));
+        } finally {
+            redisTemplate.delete(legacyToken);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.auth;
+
+import com.example.backend.config.CacheNames;
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtUtils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for authenticating requests by loading the user (jwt.authentication-mode=user-lookup).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class UserLookupAuthenticationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        user = userRepository.save(new User("lookupuser", "lookupuser@example.com", "Password@123", Set.of("USER")));
+    }
+
+    /**
+     * TC_POS_001: The cached user details carry no password hash.
+     */
+    @Test
+    void testCachedDetailsHaveNoPassword() throws Exception {
+        mockMvc.perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtils.generateToken(user, 86400000)))
+                .andExpect(status().isOk());
+
+        UserDetails cached = cacheManager.getCache(CacheNames.USER_DETAILS).get("lookupuser", UserDetails.class);
+        assertNotNull(cached);
+        assertNull(cached.getPassword());
+    }
+
+    /**
+     * TC_NEG_001: A user disabled after logging in is rejected once the cached details are gone.
+     */
+    @Test
+    void testDisabledUserRejectedAfterEviction() throws Exception {
+        String token = jwtUtils.generateToken(user, 86400000);
+        mockMvc.perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        user.setEnabled(false);
+        userRepository.save(user);
+        cacheManager.getCache(CacheNames.USER_DETAILS).evict("lookupuser"); // As the entry's TTL would
+
+        mockMvc.perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Account is disabled."));
+    }
+}
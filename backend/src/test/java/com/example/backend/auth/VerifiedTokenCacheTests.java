@@ -0,0 +1,153 @@
+package com.example.backend.auth;
+
+import com.example.backend.security.JwtBlacklistService;
+import com.example.backend.security.JwtKeyRing;
+import com.example.backend.security.JwtUtils;
+import com.example.backend.security.UserDetailsServiceImpl;
+import com.example.backend.security.VerifiedToken;
+import com.example.backend.security.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the cache of tokens that already passed signature verification.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class VerifiedTokenCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private JwtBlacklistService jwtBlacklistService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    private final String ROLE = "ROLE_USER";
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(userDetailsService.loadUserByUsername("cacheduser"))
+            .thenReturn(User.withUsername("cacheduser").password("hashed").authorities(ROLE).build());
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt.verified-tokens").tag("result", result)
+                .functionCounter().count();
+    }
+
+    /**
+     * TC_POS_001: The first verification of a token misses the cache, later ones hit it.
+     */
+    @Test
+    void testMissThenHit() {
+        String token = jwtUtils.generateToken("cacheduser", 86400000, ROLE);
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        VerifiedToken first = jwtUtils.verifyToken(token).orElseThrow();
+        VerifiedToken second = jwtUtils.verifyToken(token).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(misses + 1, cacheGets("miss"));
+        assertEquals(hits + 1, cacheGets("hit"));
+    }
+
+    /**
+     * TC_CORNER_001: An entry is gone once its token's exp has passed.
+     */
+    @Test
+    void testEntryExpiresWithToken() throws Exception {
+        VerifiedToken expiring = new VerifiedToken("expiring-token", null, "expiringjti", "cacheduser", new Date(),
+                new Date(System.currentTimeMillis() + 300), List.of(ROLE), null, null, true);
+        verifiedTokenCache.put(expiring);
+        assertSame(expiring, verifiedTokenCache.get("expiring-token"));
+
+        Thread.sleep(400);
+
+        assertNull(verifiedTokenCache.get("expiring-token"));
+    }
+
+    /**
+     * TC_NEG_001: A token revoked after it was cached is still rejected on a cache hit.
+     */
+    @Test
+    void testBlacklistedTokenRejectedOnHit() throws Exception {
+        String token = jwtUtils.generateToken("cacheduser", 86400000, ROLE);
+        mockMvc.perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNotFound()); // Authenticated; the user only exists as a mock
+
+        jwtBlacklistService.blacklistToken(token, 60000);
+        assertNotNull(verifiedTokenCache.get(token));
+
+        mockMvc.perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid token."));
+    }
+
+    /**
+     * TC_NEG_002: Logging out drops the token from the cache.
+     */
+    @Test
+    void testLogoutInvalidatesEntry() throws Exception {
+        String token = jwtUtils.generateToken("cacheduser", 86400000, ROLE);
+
+        mockMvc.perform(post("/api/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertNull(verifiedTokenCache.get(token));
+    }
+
+    /**
+     * TC_NEG_003: An entry verified under a key that has left the ring is not trusted.
+     */
+    @Test
+    void testEntryOfRetiredKeyRejected() {
+        String secret = jwtUtils.getSecret();
+        JwtKeyRing withNextKey = new JwtKeyRing(secret, "primary", "next", new MockEnvironment()
+                .withProperty("jwt.keys.next.algorithm", "HS256")
+                .withProperty("jwt.keys.next.secret", "bmV4dC1rZXktZm9yLXRoZS12ZXJpZmllZC10b2tlbi1jYWNoZS10ZXN0cw=="));
+        JwtKeyRing nextKeyRetired = new JwtKeyRing(secret, "primary", "primary", new MockEnvironment());
+
+        JwtUtils beforeRetirement = new JwtUtils(jwtBlacklistService, verifiedTokenCache, withNextKey);
+        String token = beforeRetirement.generateToken("cacheduser", 86400000, ROLE);
+        assertEquals("next", beforeRetirement.verifyToken(token).orElseThrow().getKeyId());
+        assertNotNull(verifiedTokenCache.get(token));
+
+        JwtUtils afterRetirement = new JwtUtils(jwtBlacklistService, verifiedTokenCache, nextKeyRetired);
+        assertTrue(afterRetirement.verifyToken(token).isEmpty());
+        assertNull(verifiedTokenCache.get(token));
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.backend.bookmark;
+
+import com.example.backend.model.Bookmark;
+import com.example.backend.model.User;
+import com.example.backend.repository.BookmarkRepository;
+import com.example.backend.repository.PasswordResetTokenRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtUtils;
+import com.example.backend.service.BookmarkContentHashBackfill;
+import com.example.backend.service.BookmarkService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for rejecting duplicate bookmarks through the unique content hash.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BookmarkDuplicateTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private BookmarkService bookmarkService;
+
+    @Autowired
+    private BookmarkContentHashBackfill bookmarkContentHashBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        bookmarkRepository.deleteAll();
+        passwordResetTokenRepository.deleteAll();
+        userRepository.deleteAll();
+        // Users are recreated with new IDs for every test, so drop the ones cached by the last test
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        owner = userRepository.save(new User("dupowner", "dupowner@example.com", passwordEncoder.encode("User@123"), Set.of("USER")));
+        userRepository.save(new User("dupother", "dupother@example.com", passwordEncoder.encode("User@123"), Set.of("USER")));
+    }
+
+    private ResultActions save(String username, String title, String url) throws Exception {
+        return mockMvc.perform(post("/api/bookmarks")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtils.generateToken(username, 86400000, "USER"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"" + title + "\", \"url\": \"" + url + "\"}"));
+    }
+
+    /**
+     * TC_POS_001: A saved bookmark carries its content hash.
+     */
+    @Test
+    void testSaveStoresContentHash() throws Exception {
+        save("dupowner", "Sunset", "https://example.com/sunset.jpg")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookmark.title").value("Sunset"))
+                .andExpect(jsonPath("$.bookmark.contentHash").doesNotExist());
+
+        Bookmark saved = bookmarkRepository.findAll().get(0);
+        assertEquals(Bookmark.contentHashOf(owner.getId(), "Sunset", "https://example.com/sunset.jpg"), saved.getContentHash());
+    }
+
+    /**
+     * TC_NEG_001: Saving the same bookmark again, even with different spacing, is rejected.
+     */
+    @Test
+    void testDuplicateRejected() throws Exception {
+        save("dupowner", "Sunset Beach", "https://example.com/sunset.jpg").andExpect(status().isOk());
+
+        save("dupowner", "Sunset Beach", "https://example.com/sunset.jpg")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Bookmark already exists"));
+        save("dupowner", " Sunset   Beach ", " https://example.com/sunset.jpg ")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Bookmark already exists"));
+
+        assertEquals(1, bookmarkRepository.count());
+    }
+
+    /**
+     * TC_POS_002: Two users can bookmark the same content.
+     */
+    @Test
+    void testSameBookmarkForAnotherUser() throws Exception {
+        save("dupowner", "Sunset", "https://example.com/sunset.jpg").andExpect(status().isOk());
+        save("dupother", "Sunset", "https://example.com/sunset.jpg").andExpect(status().isOk());
+
+        assertEquals(2, bookmarkRepository.count());
+    }
+
+    /**
+     * TC_CORNER_001: Of several concurrent saves of one bookmark, exactly one succeeds.
+     */
+    @Test
+    void testConcurrentDuplicateSaves() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> outcomes = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            outcomes.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookmarkService.saveBookmark(owner, "Race", "https://example.com/race.jpg");
+                    return true;
+                } catch (IllegalArgumentException e) {
+                    assertEquals("Bookmark already exists", e.getMessage());
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        for (Future<Boolean> outcome : outcomes) {
+            if (outcome.get(30, TimeUnit.SECONDS)) {
+                created++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, created);
+        assertEquals(1, bookmarkRepository.count());
+    }
+
+    /**
+     * TC_CORNER_002: Bookmarks saved before content hashes are hashed by the backfill; older duplicates are left alone.
+     */
+    @Test
+    void testBackfillHashesOldRows() {
+        LocalDateTime now = LocalDateTime.now();
+        String insert = "insert into bookmarks (id, title, url, created_at, user_id) values (?, ?, ?, ?, ?)";
+        jdbcTemplate.update(insert, 900001L, "Old", "https://example.com/old.jpg", now, owner.getId());
+        jdbcTemplate.update(insert, 900002L, "Old", "https://example.com/old.jpg", now, owner.getId());
+        jdbcTemplate.update(insert, 900003L, "Older", "https://example.com/older.jpg", now, owner.getId());
+
+        assertEquals(2, bookmarkContentHashBackfill.backfill());
+
+        assertEquals(Bookmark.contentHashOf(owner.getId(), "Old", "https://example.com/old.jpg"),
+                bookmarkRepository.findById(900001L).orElseThrow().getContentHash());
+        assertNull(bookmarkRepository.findById(900002L).orElseThrow().getContentHash());
+        assertNotNull(bookmarkRepository.findById(900003L).orElseThrow().getContentHash());
+
+        // Nothing left to do on the next run
+        assertEquals(0, bookmarkContentHashBackfill.backfill());
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.backend.bookmark;
+
+import com.example.backend.model.Bookmark;
+import com.example.backend.model.User;
+import com.example.backend.repository.BookmarkRepository;
+import com.example.backend.repository.PasswordResetTokenRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for GET /api/bookmarks/export - Users download all of their bookmarks.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "bookmarks.export.fetch-size=7")
+public class BookmarkExportTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 8, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        bookmarkRepository.deleteAll();
+        passwordResetTokenRepository.deleteAll();
+        userRepository.deleteAll();
+        // Users are recreated with new IDs for every test, so drop the ones cached by the last test
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        owner = userRepository.save(new User("exportowner", "exportowner@example.com", passwordEncoder.encode("User@123"), Set.of("USER")));
+        User other = userRepository.save(new User("exportother", "exportother@example.com", passwordEncoder.encode("User@123"), Set.of("USER")));
+        User disabled = new User("exportoff", "exportoff@example.com", passwordEncoder.encode("User@123"), Set.of("USER"));
+        disabled.setEnabled(false);
+        userRepository.save(disabled);
+
+        bookmarkRepository.save(new Bookmark("Not mine", "https://example.com/other", other));
+    }
+
+    private void saveBookmarks(int count) {
+        List<Bookmark> bookmarks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Bookmark bookmark = new Bookmark("Bookmark " + i, "https://example.com/" + i, owner);
+            bookmark.setCreatedAt(START.plusSeconds(i));
+            bookmarks.add(bookmark);
+        }
+        bookmarkRepository.saveAll(bookmarks);
+    }
+
+    private MvcResult export(String username) throws Exception {
+        return mockMvc.perform(get("/api/bookmarks/export")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtils.generateToken(username, 86400000, "USER")))
+                .andReturn();
+    }
+
+    private List<JsonNode> readLines(byte[] gzipped) throws Exception {
+        List<JsonNode> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(gzipped)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * TC_POS_001: The export holds every bookmark of the user, oldest first, across several fetches.
+     */
+    @Test
+    void testExportAllBookmarks() throws Exception {
+        saveBookmarks(50);
+
+        MvcResult result = export("exportowner");
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertEquals("application/gzip", result.getResponse().getContentType());
+        assertTrue(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("bookmarks.ndjson.gz"));
+
+        List<JsonNode> rows = readLines(result.getResponse().getContentAsByteArray());
+        assertEquals(50, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals("Bookmark " + i, rows.get(i).get("title").asText());
+            assertEquals("https://example.com/" + i, rows.get(i).get("url").asText());
+        }
+        assertEquals("2025-06-01 08:00:00", rows.get(0).get("createdAt").asText());
+        assertTrue(rows.get(0).has("id"));
+        assertFalse(rows.get(0).has("user"));
+    }
+
+    /**
+     * TC_CORNER_001: A user without bookmarks gets a valid, empty file.
+     */
+    @Test
+    void testExportWithoutBookmarks() throws Exception {
+        MvcResult result = export("exportowner");
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertTrue(readLines(result.getResponse().getContentAsByteArray()).isEmpty());
+    }
+
+    /**
+     * TC_NEG_001: A disabled account cannot export; it is turned away before reaching the controller.
+     */
+    @Test
+    void testExportWithDisabledUser() throws Exception {
+        mockMvc.perform(get("/api/bookmarks/export")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtils.generateToken("exportoff", 86400000, "USER")))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Account is disabled."));
+    }
+
+    /**
+     * TC_NEG_002: Exporting requires authentication.
+     */
+    @Test
+    void testExportWithoutToken() throws Exception {
+        mockMvc.perform(get("/api/bookmarks/export"))
+                .andExpect(status().isUnauthorized());
+    }
+}
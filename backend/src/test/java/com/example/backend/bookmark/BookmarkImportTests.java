@@ -0,0 +1,183 @@
+package com.example.backend.bookmark;
+
+import com.example.backend.model.Bookmark;
+import com.example.backend.model.User;
+import com.example.backend.repository.BookmarkRepository;
+import com.example.backend.repository.PasswordResetTokenRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtUtils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for POST /api/bookmarks/import - Users import bookmarks in bulk.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "bookmarks.import.chunk-size=3")
+public class BookmarkImportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        bookmarkRepository.deleteAll();
+        passwordResetTokenRepository.deleteAll();
+        userRepository.deleteAll();
+        // Users are recreated with new IDs for every test, so drop the ones cached by the last test
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        owner = userRepository.save(new User("importowner", "importowner@example.com", passwordEncoder.encode("User@123"), Set.of("USER")));
+        User other = userRepository.save(new User("importother", "importother@example.com", passwordEncoder.encode("User@123"), Set.of("USER")));
+
+        bookmarkRepository.save(new Bookmark("Existing", "https://example.com/existing", owner));
+        bookmarkRepository.save(new Bookmark("Theirs", "https://example.com/theirs", other));
+    }
+
+    private ResultActions importBookmarks(String contentType, String body) throws Exception {
+        return mockMvc.perform(post("/api/bookmarks/import")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtils.generateToken("importowner", 86400000, "USER"))
+                .contentType(contentType)
+                .content(body));
+    }
+
+    /**
+     * TC_POS_001: Bookmarks are imported from NDJSON across several chunks, keeping createdAt.
+     */
+    @Test
+    void testImportNdjsonAcrossChunks() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            ndjson.append("{\"title\": \"Image ").append(i).append("\", \"url\": \"https://example.com/").append(i)
+                    .append(".jpg\", \"createdAt\": \"2024-01-0").append(i + 1).append(" 10:00:00\"}\n");
+        }
+
+        importBookmarks("application/x-ndjson", ndjson.toString())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(8))
+                .andExpect(jsonPath("$.skipped").value(0))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.results[0].line").value(1))
+                .andExpect(jsonPath("$.results[0].title").value("Image 0"))
+                .andExpect(jsonPath("$.results[0].status").value("created"));
+
+        assertEquals(9, bookmarkRepository.findFirstPage(owner, Limit.unlimited()).size());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0),
+                bookmarkRepository.findFirstPage(owner, Limit.of(1)).get(0).createdAt());
+    }
+
+    /**
+     * TC_POS_002: Links are imported from a browser bookmarks export, folders and markup ignored.
+     */
+    @Test
+    void testImportBrowserHtml() throws Exception {
+        String html = """
+                <!DOCTYPE NETSCAPE-Bookmark-file-1>
+                <META HTTP-EQUIV="Content-Type" CONTENT="text/html; charset=UTF-8">
+                <TITLE>Bookmarks</TITLE>
+                <H1>Bookmarks</H1>
+                <DL><p>
+                    <DT><H3 ADD_DATE="1700000000">Photos</H3>
+                    <DL><p>
+                        <DT><A HREF="https://example.com/a.jpg?x=1&amp;y=2" ADD_DATE="1700000000" ICON="data:image/png;base64,AAA">Tom &amp; Jerry</A>
+                        <DT><A HREF="https://example.com/existing">Existing</A>
+                    </DL><p>
+                </DL><p>
+                """;
+
+        importBookmarks("text/html", html)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.skipped").value(1))
+                .andExpect(jsonPath("$.results[0].title").value("Tom & Jerry"))
+                .andExpect(jsonPath("$.results[0].line").value(8))
+                .andExpect(jsonPath("$.results[1].status").value("skipped"))
+                .andExpect(jsonPath("$.results[1].message").value("Bookmark already exists"));
+
+        assertEquals("https://example.com/a.jpg?x=1&y=2",
+                bookmarkRepository.findFirstPage(owner, Limit.unlimited()).stream()
+                        .filter(view -> view.title().equals("Tom & Jerry")).findFirst().orElseThrow().url());
+    }
+
+    /**
+     * TC_NEG_001: Invalid and repeated entries are reported while the rest are created.
+     */
+    @Test
+    void testImportReportsRejectedEntries() throws Exception {
+        String ndjson = """
+                {"title": "Good", "url": "https://example.com/good"}
+                {"title": "", "url": "https://example.com/untitled"}
+                {"title": "Good", "url": "  https://example.com/good  "}
+                not json
+                {"title": "Existing", "url": "https://example.com/existing"}
+                {"title": "Theirs", "url": "https://example.com/theirs"}
+                {"title": "%s", "url": "https://example.com/long"}
+                """.formatted("t".repeat(101));
+
+        importBookmarks("application/x-ndjson", ndjson)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.skipped").value(2))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.results[1].status").value("failed"))
+                .andExpect(jsonPath("$.results[1].message").value("Title is required."))
+                .andExpect(jsonPath("$.results[2].status").value("skipped"))
+                .andExpect(jsonPath("$.results[2].message").value("Bookmark appears more than once in the import."))
+                .andExpect(jsonPath("$.results[3].message").value("Malformed JSON."))
+                .andExpect(jsonPath("$.results[4].message").value("Bookmark already exists"))
+                .andExpect(jsonPath("$.results[5].status").value("created"))
+                .andExpect(jsonPath("$.results[6].message").value("Title must not exceed 100 characters."));
+
+        assertEquals(3, bookmarkRepository.findFirstPage(owner, Limit.unlimited()).size());
+    }
+
+    /**
+     * TC_NEG_002: Importing requires authentication.
+     */
+    @Test
+    void testImportWithoutToken() throws Exception {
+        mockMvc.perform(post("/api/bookmarks/import")
+                .contentType("application/x-ndjson")
+                .content("{\"title\": \"Good\", \"url\": \"https://example.com/good\"}\n"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.backend.bookmark;
+
+import com.example.backend.model.Bookmark;
+import com.example.backend.model.User;
+import com.example.backend.repository.BookmarkRepository;
+import com.example.backend.repository.PasswordResetTokenRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtUtils;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for paging through GET /api/bookmarks with a cursor.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"bookmarks.page.default-size=4", "bookmarks.page.max-size=5"})
+public class BookmarkPaginationTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        bookmarkRepository.deleteAll();
+        passwordResetTokenRepository.deleteAll();
+        userRepository.deleteAll();
+        // The owner is recreated with a new ID for every test, so drop the one cached by the last test
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        User owner = userRepository.save(new User("pageowner", "pageowner@example.com", passwordEncoder.encode("User@123"), Set.of("USER")));
+        User other = userRepository.save(new User("pageother", "pageother@example.com", passwordEncoder.encode("User@123"), Set.of("USER")));
+
+        // Bookmarks 2 and 3 share a timestamp, so the ID has to break the tie
+        int[] minuteOffsets = {0, 1, 1, 2, 3, 4, 5};
+        List<Bookmark> bookmarks = new ArrayList<>();
+        for (int i = 0; i < minuteOffsets.length; i++) {
+            Bookmark bookmark = new Bookmark("Bookmark " + (i + 1), "https://example.com/" + (i + 1), owner);
+            bookmark.setCreatedAt(START.plusMinutes(minuteOffsets[i]));
+            bookmarks.add(bookmark);
+        }
+        Bookmark foreign = new Bookmark("Not mine", "https://example.com/other", other);
+        foreign.setCreatedAt(START.plusMinutes(2));
+        bookmarks.add(foreign);
+        bookmarkRepository.saveAll(bookmarks);
+
+        token = jwtUtils.generateToken("pageowner", 86400000, "USER");
+    }
+
+    private ResultActions fetch(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    /**
+     * TC_POS_001: Following the cursor walks every bookmark once, in creation order.
+     */
+    @Test
+    void testWalkAllPages() throws Exception {
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/bookmarks").param("limit", "3");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = fetch(request).andExpect(status().isOk()).andReturn();
+            titles.addAll(JsonPath.read(result.getResponse().getContentAsString(), "$[*].title"));
+            cursor = result.getResponse().getHeader("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of("Bookmark 1", "Bookmark 2", "Bookmark 3", "Bookmark 4",
+                "Bookmark 5", "Bookmark 6", "Bookmark 7"), titles);
+    }
+
+    /**
+     * TC_POS_002: Without a limit the default page size applies.
+     */
+    @Test
+    void testDefaultPageSize() throws Exception {
+        fetch(get("/api/bookmarks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].title").value("Bookmark 1"))
+                .andExpect(header().exists("X-Next-Cursor"));
+    }
+
+    /**
+     * TC_NEG_001: A cursor that was not issued by the server is rejected.
+     */
+    @Test
+    void testInvalidCursor() throws Exception {
+        fetch(get("/api/bookmarks").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor."));
+    }
+
+    /**
+     * TC_NEG_002: A page size below one is rejected.
+     */
+    @Test
+    void testNonPositiveLimit() throws Exception {
+        fetch(get("/api/bookmarks").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Limit must be a positive number."));
+    }
+
+    /**
+     * TC_CORNER_001: A page size above the maximum is capped.
+     */
+    @Test
+    void testLimitCapped() throws Exception {
+        fetch(get("/api/bookmarks").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(header().exists("X-Next-Cursor"));
+    }
+
+    /**
+     * TC_CORNER_002: The last page carries no cursor and other users' bookmarks never appear.
+     */
+    @Test
+    void testLastPageHasNoCursor() throws Exception {
+        fetch(get("/api/bookmarks").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5));
+
+        MvcResult first = fetch(get("/api/bookmarks").param("limit", "5")).andReturn();
+        fetch(get("/api/bookmarks").param("limit", "5").param("cursor", first.getResponse().getHeader("X-Next-Cursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].title").value("Bookmark 7"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+}
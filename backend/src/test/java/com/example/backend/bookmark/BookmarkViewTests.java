@@ -0,0 +1,115 @@
+package com.example.backend.bookmark;
+
+import com.example.backend.model.Bookmark;
+import com.example.backend.model.User;
+import com.example.backend.repository.BookmarkRepository;
+import com.example.backend.repository.PasswordResetTokenRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtUtils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the bookmark read path against the database: GET /api/bookmarks and GET /api/bookmarks/{id}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BookmarkViewTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Bookmark owned;
+    private Bookmark foreign;
+
+    @BeforeEach
+    void setUp() {
+        bookmarkRepository.deleteAll();
+        passwordResetTokenRepository.deleteAll();
+        userRepository.deleteAll();
+        // Users are recreated with new IDs for every test, so drop the ones cached by the last test
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        User owner = userRepository.save(new User("viewowner", "viewowner@example.com", passwordEncoder.encode("User@123"), Set.of("USER")));
+        User other = userRepository.save(new User("viewother", "viewother@example.com", passwordEncoder.encode("User@123"), Set.of("USER")));
+
+        owned = new Bookmark("My Image", "https://example.com/mine.jpg", owner);
+        owned.setCreatedAt(LocalDateTime.of(2025, 3, 4, 5, 6, 7));
+        owned = bookmarkRepository.save(owned);
+        foreign = bookmarkRepository.save(new Bookmark("Their Image", "https://example.com/theirs.jpg", other));
+    }
+
+    private ResultActions fetch(String path) throws Exception {
+        return mockMvc.perform(get(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtils.generateToken("viewowner", 86400000, "USER")));
+    }
+
+    /**
+     * TC_POS_001: Fetching an owned bookmark by ID returns only its own fields.
+     */
+    @Test
+    void testFetchByIdReturnsView() throws Exception {
+        fetch("/api/bookmarks/" + owned.getId())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(owned.getId()))
+                .andExpect(jsonPath("$.title").value("My Image"))
+                .andExpect(jsonPath("$.url").value("https://example.com/mine.jpg"))
+                .andExpect(jsonPath("$.createdAt").value("2025-03-04 05:06:07"))
+                .andExpect(jsonPath("$.user").doesNotExist());
+    }
+
+    /**
+     * TC_POS_002: Listed bookmarks never carry the owning user.
+     */
+    @Test
+    void testListReturnsViews() throws Exception {
+        fetch("/api/bookmarks")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("My Image"))
+                .andExpect(jsonPath("$[0].user").doesNotExist());
+    }
+
+    /**
+     * TC_NEG_001: Another user's bookmark is reported as not found.
+     */
+    @Test
+    void testFetchForeignBookmark() throws Exception {
+        fetch("/api/bookmarks/" + foreign.getId())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Bookmark not found"));
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.backend.bookmark;
 
-import com.example.backend.model.Bookmark;
+import com.example.backend.dto.BookmarkView;
 import com.example.backend.model.User;
 import com.example.backend.service.BookmarkService;
 import com.example.backend.service.UserService;
@@ -20,6 +20,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Set;
 
@@ -86,13 +87,13 @@ public class GetBookmarkByIdControllerTests {
             .thenAnswer(invocation -> {
                 Long bookmarkId = invocation.getArgument(0);
                 if (bookmarkId == 1L) {
-                    return Optional.of(new Bookmark("First Bookmark", "https://example.com/first", normalUser));
+                    return Optional.of(new BookmarkView(1L, "First Bookmark", "https://example.com/first", LocalDateTime.now()));
                 } else if (bookmarkId == 10L) {
-                    return Optional.of(new Bookmark("Existing Bookmark", "https://example.com/existing", normalUser));
+                    return Optional.of(new BookmarkView(10L, "Existing Bookmark", "https://example.com/existing", LocalDateTime.now()));
                 } else if (bookmarkId == 15L) {
-                    return Optional.of(new Bookmark("Special ✨ Title!", "https://example.com/special", normalUser));
+                    return Optional.of(new BookmarkView(15L, "Special ✨ Title!", "https://example.com/special", LocalDateTime.now()));
                 } else if (bookmarkId == 20L) {
-                    return Optional.of(new Bookmark("Long URL Bookmark", "https://example.com/" + "a".repeat(499), normalUser));
+                    return Optional.of(new BookmarkView(20L, "Long URL Bookmark", "https://example.com/" + "a".repeat(499), LocalDateTime.now()));
                 } else {
                     return Optional.empty();
                 }
@@ -1,6 +1,7 @@
 package com.example.backend.bookmark;
 
-import com.example.backend.model.Bookmark;
+import com.example.backend.dto.BookmarkPage;
+import com.example.backend.dto.BookmarkView;
 import com.example.backend.model.User;
 import com.example.backend.repository.BookmarkRepository;
 import com.example.backend.repository.UserRepository;
@@ -22,6 +23,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -95,12 +97,12 @@ public class GetBookmarksControllerTests {
         Mockito.when(userService.findByUsername("deletedUser")).thenThrow(new RuntimeException("User not found"));
 
         // Mock bookmarks data
-        Bookmark bookmark1 = new Bookmark("Sample Image", "https://example.com/image.jpg", normalUser);
-        Bookmark bookmark2 = new Bookmark("Special Char 💡 Bookmark", "https://example.com/image.jpg", normalUser);
-        Bookmark bookmark3 = new Bookmark("Query Params", "https://example.com/image.jpg?size=large&ref=abc", normalUser);
+        BookmarkView bookmark1 = new BookmarkView(1L, "Sample Image", "https://example.com/image.jpg", LocalDateTime.now());
+        BookmarkView bookmark2 = new BookmarkView(2L, "Special Char 💡 Bookmark", "https://example.com/image.jpg", LocalDateTime.now());
+        BookmarkView bookmark3 = new BookmarkView(3L, "Query Params", "https://example.com/image.jpg?size=large&ref=abc", LocalDateTime.now());
 
-        Mockito.when(bookmarkService.getUserBookmarks(normalUser))
-            .thenReturn(List.of(bookmark1, bookmark2, bookmark3));
+        Mockito.when(bookmarkService.getUserBookmarks(normalUser, null, null))
+            .thenReturn(new BookmarkPage(List.of(bookmark1, bookmark2, bookmark3), null));
     }
 
     /**
@@ -123,7 +125,8 @@ public class GetBookmarksControllerTests {
      */
     @Test
     void testFetchBookmarksWhenNoneExist() throws Exception {
-        Mockito.when(bookmarkService.getUserBookmarks(Mockito.any(User.class))).thenReturn(List.of());
+        Mockito.when(bookmarkService.getUserBookmarks(Mockito.any(User.class), Mockito.any(), Mockito.any()))
+            .thenReturn(new BookmarkPage(List.of(), null));
 
         mockMvc.perform(get("/api/bookmarks")
             .header(HttpHeaders.AUTHORIZATION, "Bearer " + validUserToken)
@@ -3,6 +3,7 @@ package com.example.backend.user;
 import com.example.backend.model.User;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.security.JwtUtils;
+import com.example.backend.security.TokenEpochService;
 import com.example.backend.security.UserDetailsServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +12,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -43,6 +46,9 @@ public class DeleteUserControllerTests {
     @MockBean
     private UserDetailsServiceImpl userDetailsService;
 
+    @SpyBean
+    private TokenEpochService tokenEpochService;
+
     private String adminToken;
     private String userToken;
     private String expiredAdminToken;
@@ -277,4 +283,21 @@ public class DeleteUserControllerTests {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Failed to delete user."));
     }
+
+    /**
+     * TC_NEG_011: If sessions cannot be revoked, the user is not deleted and the failure is reported.
+     */
+    @Test
+    void testRevocationFailureKeepsUser() throws Exception {
+        Mockito.doThrow(new RedisConnectionFailureException("Redis is down"))
+            .when(tokenEpochService).revokeAllTokens("deleteUser");
+
+        mockMvc.perform(delete("/api/users/10")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Failed to delete user due to an internal error."));
+
+        Mockito.verify(userRepository, Mockito.never()).deleteById(10L);
+    }
 }
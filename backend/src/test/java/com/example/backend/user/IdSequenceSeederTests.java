@@ -0,0 +1,64 @@
+package com.example.backend.user;
+
+import com.example.backend.model.Bookmark;
+import com.example.backend.model.User;
+import com.example.backend.repository.BookmarkRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.IdSequenceSeeder;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for moving ID sequences past the rows of tables that predate them.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:idseedtest") // No IDs allocated yet in this database
+public class IdSequenceSeederTests {
+
+    @Autowired
+    private IdSequenceSeeder idSequenceSeeder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    /**
+     * TC_POS_001: Rows inserted with IDENTITY-era IDs are not handed out again after seeding.
+     */
+    @Test
+    void testNewRowsGetIdsPastExistingOnes() {
+        // As left behind by IDENTITY columns, with IDs the fresh sequences would start from
+        for (long id = 1; id <= 120; id++) {
+            jdbcTemplate.update("insert into users (id, username, email, password, enabled, security_version) values (?, ?, ?, ?, true, 0)",
+                    id, "legacy" + id, "legacy" + id + "@example.com", "hash");
+        }
+        jdbcTemplate.update("insert into bookmarks (id, title, url, created_at, user_id) values (7, 'Legacy', 'https://example.com', current_timestamp, 1)");
+
+        assertEquals(2, idSequenceSeeder.seed());
+        assertEquals(0, idSequenceSeeder.seed()); // Already past; never lowered
+
+        User user = userRepository.save(new User("seededuser", "seededuser@example.com", "Password@123", Set.of("USER")));
+        assertTrue(user.getId() > 120, "reused ID " + user.getId());
+
+        Bookmark bookmark = new Bookmark();
+        bookmark.setTitle("New");
+        bookmark.setUrl("https://example.org");
+        bookmark.setUser(user);
+        assertTrue(bookmarkRepository.save(bookmark).getId() > 7);
+    }
+}
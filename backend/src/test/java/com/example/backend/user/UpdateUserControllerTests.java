@@ -13,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -40,6 +41,9 @@ public class UpdateUserControllerTests {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @MockBean
     private UserRepository userRepository;
 
@@ -56,6 +60,9 @@ public class UpdateUserControllerTests {
     
     @BeforeEach
     void setUp() {
+        // Users cached by other test classes sharing this context would shadow the mocks below
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
         // Mock Admin User
         User adminUser = new User(1L, "adminUser", "admin@example.com", passwordEncoder.encode("Admin@123"), Set.of(ADMIN_ROLE));
         // Mock Standard User
@@ -111,7 +118,7 @@ public class UpdateUserControllerTests {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(requestBody))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.user.username").value("updatedUser"))
+                .andExpect(jsonPath("$.user.username").value("updateduser")) // Stored lowercased, as on registration
                 .andExpect(jsonPath("$.user.email").value("updated@example.com"));
     }
 
@@ -132,7 +139,7 @@ public class UpdateUserControllerTests {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(requestBody))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.user.username").value("newUsername"))
+                .andExpect(jsonPath("$.user.username").value("newusername"))
                 .andExpect(jsonPath("$.user.email").value("newuser@example.com"));
     }
 
@@ -153,7 +160,7 @@ public class UpdateUserControllerTests {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(requestBody))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.user.username").value("updatedUsername"))
+                .andExpect(jsonPath("$.user.username").value("updatedusername"))
                 .andExpect(jsonPath("$.user.email").value("updated@example.com"));
     }
 
@@ -429,6 +436,30 @@ public class UpdateUserControllerTests {
     //             .andExpect(jsonPath("$.message").value("Username is already taken"));
     // }
 
+    /**
+     * TC_EDGE_001: Renaming to a case or whitespace variant of a taken username or email is rejected.
+     */
+    @Test
+    void testUpdatingToCaseVariantOfExistingOne() throws Exception {
+        User alice = new User(20L, "alice", "alice@example.com", "password", Set.of(USER_ROLE));
+        Mockito.when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        Mockito.when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(alice));
+
+        mockMvc.perform(put("/api/users/5")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"Alice \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Username is already taken"));
+
+        mockMvc.perform(put("/api/users/5")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \" Alice@Example.com\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Email is already in use"));
+    }
+
     /**
      * TC_EDGE_002: Updating email with invalid format.
      */
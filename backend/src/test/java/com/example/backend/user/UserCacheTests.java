@@ -0,0 +1,122 @@
+package com.example.backend.user;
+
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.UserService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the in-process user cache in front of UserService lookups.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class UserCacheTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        User user = new User();
+        user.setUsername("cacheduser");
+        user.setEmail("cacheduser@example.com");
+        user.setPassword("Password@123");
+        userService.registerUser(user);
+        Mockito.clearInvocations(userRepository);
+    }
+
+    /**
+     * TC_POS_001: Repeated lookups are served from the cache.
+     */
+    @Test
+    void testRepeatedLookupHitsCache() {
+        userService.findByUsername("cacheduser");
+        userService.findByUsername("cacheduser");
+        userService.findByUsername("cacheduser");
+
+        Mockito.verify(userRepository, Mockito.times(1)).findByUsername("cacheduser");
+    }
+
+    /**
+     * TC_POS_002: Updating the password evicts the cached user.
+     */
+    @Test
+    void testPasswordUpdateEvictsCache() {
+        String oldHash = userService.findByUsername("cacheduser").getPassword();
+
+        userService.updatePassword("cacheduser@example.com", "NewPassword123");
+        User reloaded = userService.findByUsername("cacheduser");
+
+        Mockito.verify(userRepository, Mockito.times(2)).findByUsername("cacheduser");
+        assertNotEquals(oldHash, reloaded.getPassword());
+    }
+
+    /**
+     * TC_POS_003: Deleting a user evicts the cached user.
+     */
+    @Test
+    void testDeleteEvictsCache() {
+        Long id = userService.findByUsername("cacheduser").getId();
+        userService.findById(id);
+        userService.findById(id);
+        Mockito.verify(userRepository, Mockito.times(1)).findById(id);
+
+        userService.deleteUser(id, "admin");
+
+        assertThrows(RuntimeException.class, () -> userService.findById(id));
+    }
+
+    /**
+     * TC_POS_004: Registering another user leaves cached users in place.
+     */
+    @Test
+    void testRegistrationKeepsOtherUsersCached() {
+        userService.findByUsername("cacheduser");
+
+        User other = new User();
+        other.setUsername("otheruser");
+        other.setEmail("otheruser@example.com");
+        other.setPassword("Password@123");
+        userService.registerUser(other);
+        userService.findByUsername("cacheduser");
+
+        Mockito.verify(userRepository, Mockito.times(1)).findByUsername("cacheduser");
+    }
+
+    /**
+     * TC_POS_005: Renaming a user evicts the entry under the old username.
+     */
+    @Test
+    void testRenameEvictsOldUsername() {
+        Long id = userService.findByUsername("cacheduser").getId();
+        userService.findById(id);
+
+        userService.updateUser(id, Map.of("username", "renameduser"), true);
+
+        assertThrows(RuntimeException.class, () -> userService.findByUsername("cacheduser"));
+        assertEquals("renameduser", userService.findById(id).getUsername());
+    }
+}
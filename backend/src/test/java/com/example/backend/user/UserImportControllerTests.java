@@ -0,0 +1,164 @@
+package com.example.backend.user;
+
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for POST /api/users/import - Admin imports users in bulk.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "users.import.chunk-size=3")
+public class UserImportControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        userRepository.save(new User("importadmin", "importadmin@example.com", passwordEncoder.encode("Admin@123"), Set.of("ADMIN")));
+        userRepository.save(new User("importuser", "importuser@example.com", passwordEncoder.encode("User@123"), Set.of("USER")));
+
+        adminToken = jwtUtils.generateToken("importadmin", 86400000, "ADMIN");
+        userToken = jwtUtils.generateToken("importuser", 86400000, "USER");
+    }
+
+    private ResultActions importUsers(String token, String contentType, String body) throws Exception {
+        return mockMvc.perform(post("/api/users/import")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(contentType)
+                .content(body));
+    }
+
+    /**
+     * TC_POS_001: Admin imports users from CSV; they can log in with their passwords.
+     */
+    @Test
+    void testImportCsv() throws Exception {
+        String csv = """
+                email,username,password
+                alice@example.com,Alice,Password@123
+                bob@example.com,bob,"Pass,word""1"
+                """;
+
+        importUsers(adminToken, "text/csv", csv)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.results[0].line").value(2))
+                .andExpect(jsonPath("$.results[0].username").value("alice"))
+                .andExpect(jsonPath("$.results[0].status").value("created"));
+
+        User alice = userRepository.findByUsername("alice").orElseThrow();
+        assertEquals("alice@example.com", alice.getEmail());
+        assertEquals(Set.of("ROLE_USER"), alice.getRoles());
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"bob\", \"password\": \"Pass,word\\\"1\"}"))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * TC_POS_002: Admin imports users from NDJSON across several chunks.
+     */
+    @Test
+    void testImportNdjsonAcrossChunks() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            ndjson.append("{\"username\": \"bulk").append(i).append("\", \"email\": \"bulk").append(i)
+                    .append("@example.com\", \"password\": \"Password@123\"}\n");
+        }
+
+        importUsers(adminToken, "application/x-ndjson", ndjson.toString())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(10))
+                .andExpect(jsonPath("$.results.length()").value(10));
+
+        assertEquals(12, userRepository.count());
+    }
+
+    /**
+     * TC_NEG_001: Invalid, repeated and existing rows are reported while the rest are created.
+     */
+    @Test
+    void testImportReportsRejectedRows() throws Exception {
+        String csv = """
+                username,email,password
+                carol,carol@example.com,Password@123
+                dave,not-an-email,Password@123
+                carol,carol2@example.com,Password@123
+                importuser,other@example.com,Password@123
+                erin,importadmin@example.com,Password@123
+                frank,frank@example.com,short
+                """;
+
+        importUsers(adminToken, "text/csv", csv)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(5))
+                .andExpect(jsonPath("$.results[1].status").value("failed"))
+                .andExpect(jsonPath("$.results[1].message").value("Invalid email format."))
+                .andExpect(jsonPath("$.results[2].message").value("Username appears more than once in the import."))
+                .andExpect(jsonPath("$.results[3].message").value("Username is already taken."))
+                .andExpect(jsonPath("$.results[4].message").value("Email is already in use."))
+                .andExpect(jsonPath("$.results[5].message").value("Password must be at least 8 characters long."));
+
+        assertTrue(userRepository.findByUsername("carol").isPresent());
+        assertEquals(3, userRepository.count());
+    }
+
+    /**
+     * TC_NEG_002: A CSV upload without the required columns is rejected.
+     */
+    @Test
+    void testImportCsvWithoutHeader() throws Exception {
+        importUsers(adminToken, "text/csv", "alice,alice@example.com,Password@123\n")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("CSV header must contain username, email and password columns."));
+    }
+
+    /**
+     * TC_NEG_003: Regular users cannot import users.
+     */
+    @Test
+    void testImportForbiddenForNonAdmin() throws Exception {
+        importUsers(userToken, "text/csv", "username,email,password\nmallory,mallory@example.com,Password@123\n")
+                .andExpect(status().isForbidden());
+
+        assertTrue(userRepository.findByUsername("mallory").isEmpty());
+    }
+}
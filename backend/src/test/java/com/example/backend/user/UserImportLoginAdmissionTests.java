@@ -0,0 +1,132 @@
+package com.example.backend.user;
+
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests that a bulk import shares the password hashing pool with logins without crowding them out.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "security.password-hashing.threads=2",
+    "security.password-hashing.queue-capacity=2",
+    "security.password-hashing.batch-parallelism=1",
+    "security.password-hashing.bcrypt.strength=8", // Slow enough for the import to still be running
+    "users.import.chunk-size=10"
+})
+public class UserImportLoginAdmissionTests {
+
+    private static final int IMPORTED_USERS = 300;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(8);
+        userRepository.save(new User("admissionadmin", "admissionadmin@example.com", passwordEncoder.encode("Admin@123"), Set.of("ADMIN")));
+        userRepository.save(new User("admissionuser", "admissionuser@example.com", passwordEncoder.encode("User@123"), Set.of("USER")));
+
+        adminToken = jwtUtils.generateToken("admissionadmin", 86400000, "ADMIN");
+    }
+
+    private double encodeCount() {
+        return meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count();
+    }
+
+    /**
+     * TC_POS_001: Logins are admitted while an import hashes its passwords on the same pool.
+     */
+    @Test
+    void testLoginsAdmittedDuringImport() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < IMPORTED_USERS; i++) {
+            ndjson.append("{\"username\": \"admitted").append(i).append("\", \"email\": \"admitted").append(i)
+                    .append("@example.com\", \"password\": \"Password@123\"}\n");
+        }
+        double encodesBefore = encodeCount();
+
+        CompletableFuture<Void> importDone = CompletableFuture.runAsync(() -> {
+            try {
+                mockMvc.perform(post("/api/users/import")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                        .contentType("application/x-ndjson")
+                        .content(ndjson.toString()))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.created").value(IMPORTED_USERS));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Wait for the first chunk to land so the logins overlap with the import
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (userRepository.count() == 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(importDone.isDone());
+
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Integer>> logins = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                logins.add(clients.submit(() -> mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"admissionuser\", \"password\": \"User@123\"}"))
+                        .andReturn().getResponse().getStatus()));
+            }
+            for (Future<Integer> login : logins) {
+                assertEquals(200, login.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            clients.shutdown();
+        }
+        assertFalse(importDone.isDone(), "the import finished before the logins; nothing overlapped");
+
+        importDone.get(60, TimeUnit.SECONDS);
+        assertEquals(IMPORTED_USERS + 2, userRepository.count());
+        assertTrue(encodeCount() - encodesBefore >= IMPORTED_USERS); // The import hashed on the shared pool
+    }
+}